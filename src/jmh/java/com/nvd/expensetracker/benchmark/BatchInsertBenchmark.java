@@ -0,0 +1,114 @@
+package com.nvd.expensetracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Items per second for saving a 500-item batch, one transaction per batch:
+ * row-at-a-time inserts returning identity keys (the old IDENTITY mapping) versus
+ * ids from a pooled sequence plus one JDBC batch (the SEQUENCE mapping with
+ * hibernate.jdbc.batch_size).
+ * <p>
+ * Defaults to in-memory H2, which has no network round-trips and understates the
+ * gap. Point it at PostgreSQL for meaningful numbers, e.g.
+ * -Djmh.args="BatchInsert -jvmArgsAppend -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true
+ * -jvmArgsAppend -Dbench.jdbc.user=postgres -jvmArgsAppend -Dbench.jdbc.password=..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int ITEMS = 500;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private Connection connection;
+    private boolean postgres;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:bench;MODE=PostgreSQL"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+        postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_identity");
+            ddl.execute("DROP TABLE IF EXISTS bench_sequence");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_seq");
+            ddl.execute("CREATE TABLE bench_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "amount NUMERIC(38, 2), date DATE, description VARCHAR(255))");
+            ddl.execute("CREATE TABLE bench_sequence (id BIGINT PRIMARY KEY, " +
+                    "amount NUMERIC(38, 2), date DATE, description VARCHAR(255))");
+            ddl.execute("CREATE SEQUENCE bench_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void identityRowAtATime() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity (amount, date, description) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ITEMS; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void pooledSequenceBatch() throws SQLException {
+        String nextval = postgres ? "SELECT nextval('bench_seq')" : "SELECT NEXT VALUE FOR bench_seq";
+        try (PreparedStatement sequence = connection.prepareStatement(nextval);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_sequence (id, amount, date, description) VALUES (?, ?, ?, ?)")) {
+            long next = 0;
+            long hi = -1;
+            for (int i = 0; i < ITEMS; i++) {
+                if (next > hi) {
+                    try (ResultSet rs = sequence.executeQuery()) {
+                        rs.next();
+                        hi = rs.getLong(1);
+                    }
+                    next = hi - ALLOCATION_SIZE + 1;
+                }
+                insert.setLong(1, next++);
+                bind(insert, 2, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setBigDecimal(first, BigDecimal.valueOf(1000 + i, 2));
+        insert.setDate(first + 1, Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(i % 365)));
+        insert.setString(first + 2, "Expense " + i);
+    }
+}
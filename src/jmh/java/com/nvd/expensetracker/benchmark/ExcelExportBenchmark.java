@@ -0,0 +1,106 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.service.ExcelExportService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Time and peak heap of an Excel export. Rows are generated lazily so the only
+ * retained data is whatever the workbook keeps. The legacy in-memory XSSF path
+ * is only run up to 100k rows; beyond that it needs several GB of heap.
+ * <p>
+ * Run: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ExcelExport"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExcelExportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Streaming {
+        @Param({"10000", "100000", "1000000"})
+        public int rows;
+
+        final ExcelExportService service = new ExcelExportService(null, 100, true);
+    }
+
+    @State(Scope.Benchmark)
+    public static class InMemory {
+        @Param({"10000", "100000"})
+        public int rows;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PeakHeap {
+        public long peakHeapMb;
+
+        private List<MemoryPoolMXBean> heapPools;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void record() {
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            peakHeapMb = peak / (1024 * 1024);
+        }
+    }
+
+    @Benchmark
+    public void sxssf(Streaming state, PeakHeap heap) throws IOException {
+        state.service.writeRows(rows(state.rows), OutputStream.nullOutputStream());
+        heap.record();
+    }
+
+    @Benchmark
+    public void xssf(InMemory state, PeakHeap heap) throws IOException {
+        // The export as it was before SXSSF
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Expenses");
+            int rowNum = 1;
+            for (Iterator<ExpenseExportRow> it = rows(state.rows); it.hasNext(); ) {
+                ExpenseExportRow exp = it.next();
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(exp.id());
+                row.createCell(1).setCellValue(exp.amount().doubleValue());
+                row.createCell(2).setCellValue(exp.description());
+                row.createCell(3).setCellValue(exp.date().toString());
+                row.createCell(4).setCellValue(exp.category());
+            }
+            workbook.write(OutputStream.nullOutputStream());
+            heap.record();
+        }
+    }
+
+    private static Iterator<ExpenseExportRow> rows(int count) {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(i -> new ExpenseExportRow(i, BigDecimal.valueOf(i % 100_000, 2),
+                        "Expense " + i, start.plusDays(i % 2_000), "Category " + i % 12))
+                .iterator();
+    }
+}
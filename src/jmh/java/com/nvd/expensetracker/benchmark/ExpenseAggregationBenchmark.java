@@ -0,0 +1,118 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.service.ExpenseRangeIndex;
+import com.nvd.expensetracker.service.ExpenseRollupService;
+import com.nvd.expensetracker.service.ExpenseService;
+import com.nvd.expensetracker.service.ExpenseStatsCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExpenseService} range totals over one user's synthetic expenses, with the
+ * repositories answered from memory (see {@link SyntheticExpenses}) so the numbers
+ * are the service's own cost plus an idealised table scan, not database latency.
+ * The by-category and monthly statistics read rollup cells rather than rows and are
+ * measured separately in {@link RollupStatsBenchmark}.
+ * <p>
+ * "scan" runs with the stats cache and range index disabled, i.e. every call falls
+ * through to the repository; "indexed" uses the range index; "cached" is the
+ * production configuration answering a repeated query.
+ * <p>
+ * Run: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ExpenseAggregation"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExpenseAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private SyntheticExpenses data;
+    private ExpenseService scan;
+    private ExpenseService indexed;
+    private ExpenseService cached;
+    private LocalDate[] starts;
+    private LocalDate[] ends;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticExpenses(rows);
+        ExpenseRepository expenseRepo = data.expenseRepository();
+        ExpenseRollupService rollupService = new ExpenseRollupService(data.rollupRepository(), expenseRepo, null, null);
+
+        scan = service(expenseRepo, rollupService, uncached(), rangeIndex(expenseRepo, false));
+        indexed = service(expenseRepo, rollupService, uncached(), rangeIndex(expenseRepo, true));
+        cached = service(expenseRepo, rollupService,
+                new ExpenseStatsCache(10_000, Duration.ofMinutes(5)), rangeIndex(expenseRepo, false));
+
+        Random random = new Random(2);
+        starts = new LocalDate[1024];
+        ends = new LocalDate[1024];
+        for (int i = 0; i < starts.length; i++) {
+            LocalDate a = SyntheticExpenses.TODAY.minusDays(random.nextInt(SyntheticExpenses.HISTORY_DAYS));
+            LocalDate b = SyntheticExpenses.TODAY.minusDays(random.nextInt(SyntheticExpenses.HISTORY_DAYS));
+            starts[i] = a.isBefore(b) ? a : b;
+            ends[i] = a.isBefore(b) ? b : a;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalScan() {
+        int i = next++ & (starts.length - 1);
+        return scan.getTotalExpense(data.user, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public BigDecimal totalIndexed() {
+        int i = next++ & (starts.length - 1);
+        return indexed.getTotalExpense(data.user, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public BigDecimal totalCached() {
+        return cached.getTotalExpense(data.user, starts[0], ends[0]);
+    }
+
+    @Benchmark
+    public BigDecimal filteredTotalScan() {
+        int i = next++ & (starts.length - 1);
+        return scan.getFilteredTotal(data.user, (long) (i % SyntheticExpenses.CATEGORIES) + 1, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public BigDecimal filteredTotalIndexed() {
+        int i = next++ & (starts.length - 1);
+        return indexed.getFilteredTotal(data.user, (long) (i % SyntheticExpenses.CATEGORIES) + 1, starts[i], ends[i]);
+    }
+
+    static ExpenseService service(ExpenseRepository expenseRepo, ExpenseRollupService rollupService,
+                                          ExpenseStatsCache statsCache, ExpenseRangeIndex rangeIndex) {
+        return new ExpenseService(expenseRepo, null, rollupService, statsCache, rangeIndex, null);
+    }
+
+    static ExpenseRangeIndex rangeIndex(ExpenseRepository expenseRepo, boolean enabled) {
+        return new ExpenseRangeIndex(expenseRepo, enabled, 36_600, 256L * 1024 * 1024, Duration.ofMinutes(30));
+    }
+
+    static ExpenseStatsCache uncached() {
+        return new ExpenseStatsCache(1, Duration.ofMinutes(5)) {
+            @Override
+            public <T> T get(Long userId, String query, Long categoryId, LocalDate startDate, LocalDate endDate,
+                             Supplier<T> loader) {
+                return loader.get();
+            }
+        };
+    }
+}
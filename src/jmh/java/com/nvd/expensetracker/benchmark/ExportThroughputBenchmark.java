@@ -0,0 +1,51 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.service.CsvExportService;
+import com.nvd.expensetracker.service.ExcelExportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full CSV and Excel exports of one user's synthetic expenses to a null stream,
+ * rows read through the same repository stream the services use in production.
+ * Throughput is exports per second; multiply by {@code rows} for rows per second.
+ * Add {@code -prof gc} for the allocation rate ({@code gc.alloc.rate.norm} is
+ * bytes per export).
+ * <p>
+ * Run: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ExportThroughput -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExportThroughputBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private SyntheticExpenses data;
+    private CsvExportService csv;
+    private ExcelExportService excel;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticExpenses(rows);
+        csv = new CsvExportService(data.expenseRepository(), 1000);
+        excel = new ExcelExportService(data.expenseRepository(), 100, true);
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        return csv.writeExpensesToCsv(data.user, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void excel() throws IOException {
+        excel.writeExpensesToExcel(data.user, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,74 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.auth.AuthenticatedUser;
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification on one thread (i.e. per core): the old path that
+ * rebuilt the key and parser and parsed the token three times, a single parse with
+ * a prebuilt parser, and a hit in the verified-token cache. Token generation (one
+ * per login) is measured alongside for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "my-super-secret-key-of-nvd-that-should-be-long-and-random";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 0);
+        cached = new JwtService(SECRET, 10_000);
+        user = User.builder().id(42L).email("user@example.com").role(Role.USER).build();
+        token = uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean rebuildAndParseThreeTimes() {
+        String username = parseWithFreshParser(token).getSubject();
+        return username.equals(parseWithFreshParser(token).getSubject())
+                && !parseWithFreshParser(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public AuthenticatedUser singleParse() {
+        return uncached.parseAuthenticatedUser(token).user();
+    }
+
+    @Benchmark
+    public AuthenticatedUser cachedVerification() {
+        return cached.parseAuthenticatedUser(token).user();
+    }
+
+    private static Claims parseWithFreshParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
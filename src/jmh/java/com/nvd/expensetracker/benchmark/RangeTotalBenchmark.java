@@ -0,0 +1,99 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.service.DateRangeSumIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Arbitrary date-range totals: the stream filter ExpenseService used to run over
+ * every loaded expense versus a {@link DateRangeSumIndex} lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeTotalBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 7, 15);
+    private static final int HISTORY_DAYS = 3_650;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private List<Expense> expenses;
+    private DateRangeSumIndex index;
+    private LocalDate[] starts;
+    private LocalDate[] ends;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            categories.add(Category.builder().id(id).name("Category " + id).build());
+        }
+
+        expenses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            expenses.add(Expense.builder()
+                    .id((long) i)
+                    .amount(BigDecimal.valueOf(random.nextInt(10_000_000), 2))
+                    .date(TODAY.minusDays(random.nextInt(HISTORY_DAYS)))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .build());
+        }
+
+        Map<String, DailyCategoryTotal> daily = expenses.stream().collect(Collectors.toMap(
+                e -> e.getDate() + "/" + e.getCategory().getId(),
+                e -> new DailyCategoryTotal(e.getDate(), e.getCategory().getId(), e.getAmount()),
+                (a, b) -> new DailyCategoryTotal(a.date(), a.categoryId(), a.total().add(b.total()))));
+        index = DateRangeSumIndex.build(new ArrayList<>(daily.values()), TODAY, 36_600);
+
+        starts = new LocalDate[1024];
+        ends = new LocalDate[1024];
+        for (int i = 0; i < starts.length; i++) {
+            LocalDate a = TODAY.minusDays(random.nextInt(HISTORY_DAYS));
+            LocalDate b = TODAY.minusDays(random.nextInt(HISTORY_DAYS));
+            starts[i] = a.isBefore(b) ? a : b;
+            ends[i] = a.isBefore(b) ? b : a;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal streamTotal() {
+        int i = next++ & (starts.length - 1);
+        LocalDate startDate = starts[i];
+        LocalDate endDate = ends[i];
+        return expenses.stream()
+                .filter(e -> !e.getDate().isBefore(startDate))
+                .filter(e -> !e.getDate().isAfter(endDate))
+                .map(Expense::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal indexTotal() {
+        int i = next++ & (starts.length - 1);
+        return index.sum(null, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public BigDecimal indexCategoryTotal() {
+        int i = next++ & (starts.length - 1);
+        return index.sum(3L, starts[i], ends[i]);
+    }
+}
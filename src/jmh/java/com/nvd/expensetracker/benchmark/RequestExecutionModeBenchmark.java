@@ -0,0 +1,88 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.config.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow-database load against the two request execution modes. Each simulated request
+ * holds a connection for {@code dbMillis} and then blocks for {@code ioMillis} without
+ * one (writing a response, calling out). Requests run either on a 200-thread platform
+ * pool, as Tomcat does by default, or on one virtual thread each behind the same
+ * connection semaphore. 400 JMH client threads keep both modes oversubscribed.
+ * <p>
+ * Run both modes for throughput and latency percentiles:
+ * {@code -Djmh.args="RequestExecutionModeBenchmark -bm thrpt,sample"}. The virtual
+ * mode needs Java 21; on older JVMs its setup fails and only the platform mode reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(400)
+@Fork(1)
+public class RequestExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50"})
+    public int connections;
+
+    @Param({"5"})
+    public int dbMillis;
+
+    @Param({"45"})
+    public int ioMillis;
+
+    private ExecutorService executor;
+    private ConnectionLimitingDataSource dataSource;
+
+    @Setup
+    public void setUp() throws Exception {
+        executor = "virtual".equals(mode)
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        dataSource = new ConnectionLimitingDataSource(new NoOpDataSource(), connections, Duration.ofSeconds(30));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        return executor.submit(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                Thread.sleep(dbMillis);
+            }
+            Thread.sleep(ioMillis);
+            return Boolean.TRUE;
+        }).get();
+    }
+
+    private static final class NoOpDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.dto.BudgetResponse;
+import com.nvd.expensetracker.dto.CategoryResponse;
+import com.nvd.expensetracker.model.Budget;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping as the controllers do it: a shared
+ * {@link ModelMapper} (reflection, type map resolved per call) versus the
+ * Lombok builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private Category category;
+    private Budget budget;
+
+    @Setup
+    public void setUp() {
+        category = Category.builder().id(7L).name("Groceries").build();
+        budget = Budget.builder()
+                .id(42L)
+                .amount(new BigDecimal("250.00"))
+                .category(category)
+                .user(User.builder().id(1L).build())
+                .build();
+        // First map() builds the type maps; keep that out of the measurement
+        modelMapper.map(budget, BudgetResponse.class);
+        modelMapper.map(category, CategoryResponse.class);
+    }
+
+    @Benchmark
+    public BudgetResponse budgetModelMapper() {
+        BudgetResponse response = modelMapper.map(budget, BudgetResponse.class);
+        response.setCategoryName(category.getName());
+        return response;
+    }
+
+    @Benchmark
+    public BudgetResponse budgetBuilder() {
+        return BudgetResponse.builder()
+                .id(budget.getId())
+                .amount(budget.getAmount())
+                .categoryName(budget.getCategory().getName())
+                .build();
+    }
+
+    @Benchmark
+    public CategoryResponse categoryModelMapper() {
+        return modelMapper.map(category, CategoryResponse.class);
+    }
+
+    @Benchmark
+    public CategoryResponse categoryBuilder() {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .build();
+    }
+}
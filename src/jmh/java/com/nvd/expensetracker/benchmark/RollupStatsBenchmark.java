@@ -0,0 +1,56 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.service.ExpenseRollupService;
+import com.nvd.expensetracker.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nvd.expensetracker.benchmark.ExpenseAggregationBenchmark.rangeIndex;
+import static com.nvd.expensetracker.benchmark.ExpenseAggregationBenchmark.service;
+import static com.nvd.expensetracker.benchmark.ExpenseAggregationBenchmark.uncached;
+
+/**
+ * {@link ExpenseService} by-category and monthly statistics, uncached. Both read the
+ * (month, category) rollup cells, so their cost depends on the number of cells, not
+ * rows: the data set fills the whole grid of {@value SyntheticExpenses#HISTORY_DAYS}
+ * days by {@value SyntheticExpenses#CATEGORIES} categories.
+ * <p>
+ * Run: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="RollupStats"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RollupStatsBenchmark {
+
+    // Enough rows that every (month, category) cell is populated
+    private static final int ROWS = 100_000;
+
+    private SyntheticExpenses data;
+    private ExpenseService service;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticExpenses(ROWS);
+        ExpenseRepository expenseRepo = data.expenseRepository();
+        ExpenseRollupService rollupService = new ExpenseRollupService(data.rollupRepository(), expenseRepo, null, null);
+        service = service(expenseRepo, rollupService, uncached(), rangeIndex(expenseRepo, false));
+    }
+
+    @Benchmark
+    public List<CategoryExpenseStats> statsByCategory() {
+        return service.getStatsByCategory(data.user);
+    }
+
+    @Benchmark
+    public List<MonthlyStats> monthlyStats() {
+        return service.getMonthlyStats(data.user);
+    }
+}
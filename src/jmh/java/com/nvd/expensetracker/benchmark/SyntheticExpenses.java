@@ -0,0 +1,142 @@
+package com.nvd.expensetracker.benchmark;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.ExpenseRollupId;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.repository.ExpenseRollupRepository;
+import com.nvd.expensetracker.service.ExpenseRollupService;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One user's expenses generated in memory, plus repository stand-ins that answer
+ * the queries the services issue from those rows. Row-level queries scan the list
+ * the way the database would scan the user's rows; rollup queries aggregate the
+ * (month, category) cells. Any other repository method throws.
+ */
+final class SyntheticExpenses {
+
+    static final LocalDate TODAY = LocalDate.now();
+    static final int HISTORY_DAYS = 3_650;
+    static final int CATEGORIES = 12;
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    final User user = User.builder().id(1L).email("bench@example.com").build();
+    final List<Category> categories = new ArrayList<>(CATEGORIES);
+    final List<Expense> expenses;
+    final Map<ExpenseRollupId, ExpenseRollup> rollups = new HashMap<>();
+
+    SyntheticExpenses(int rows) {
+        Random random = new Random(1);
+        for (long id = 1; id <= CATEGORIES; id++) {
+            categories.add(Category.builder().id(id).name("Category " + id).build());
+        }
+        expenses = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            Expense expense = Expense.builder()
+                    .id((long) i)
+                    .amount(BigDecimal.valueOf(random.nextInt(10_000_000), 2))
+                    .description("Expense " + i)
+                    .date(TODAY.minusDays(random.nextInt(HISTORY_DAYS)))
+                    .category(categories.get(random.nextInt(CATEGORIES)))
+                    .user(user)
+                    .build();
+            expenses.add(expense);
+            ExpenseRollupService.accumulate(rollups, user.getId(),
+                    expense.getDate(), expense.getCategory().getId(), expense.getAmount(), 1);
+        }
+    }
+
+    ExpenseRepository expenseRepository() {
+        return repository(ExpenseRepository.class, Map.of(
+                "sumByCategoryAndDate", args -> sum((Long) args[1], (LocalDate) args[2], (LocalDate) args[3]),
+                "dailyTotalsByUser", args -> dailyTotals(),
+                "streamExportRows", args -> expenses.stream().map(SyntheticExpenses::exportRow)));
+    }
+
+    ExpenseRollupRepository rollupRepository() {
+        return repository(ExpenseRollupRepository.class, Map.of(
+                "statsByCategory", args -> statsByCategory(),
+                "monthlyStats", args -> monthlyStats()));
+    }
+
+    private BigDecimal sum(Long categoryId, LocalDate startDate, LocalDate endDate) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Expense e : expenses) {
+            if ((categoryId == null || categoryId.equals(e.getCategory().getId()))
+                    && (startDate == null || !e.getDate().isBefore(startDate))
+                    && (endDate == null || !e.getDate().isAfter(endDate))) {
+                total = total.add(e.getAmount());
+            }
+        }
+        return total;
+    }
+
+    private List<DailyCategoryTotal> dailyTotals() {
+        return new ArrayList<>(expenses.stream().collect(Collectors.toMap(
+                e -> e.getDate() + "/" + e.getCategory().getId(),
+                e -> new DailyCategoryTotal(e.getDate(), e.getCategory().getId(), e.getAmount()),
+                (a, b) -> new DailyCategoryTotal(a.date(), a.categoryId(), a.total().add(b.total())))).values());
+    }
+
+    private List<CategoryExpenseStats> statsByCategory() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (ExpenseRollup cell : rollups.values()) {
+            String name = categories.get((int) (cell.getCategoryId() - 1)).getName();
+            totals.merge(name, cell.getTotal(), BigDecimal::add);
+        }
+        return totals.entrySet().stream()
+                .map(e -> new CategoryExpenseStats(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    private List<MonthlyStats> monthlyStats() {
+        Map<LocalDate, BigDecimal> totals = new TreeMap<>();
+        for (ExpenseRollup cell : rollups.values()) {
+            totals.merge(cell.getMonth(), cell.getTotal(), BigDecimal::add);
+        }
+        return totals.entrySet().stream()
+                .map(e -> new MonthlyStats(e.getKey().format(MONTH), e.getValue()))
+                .toList();
+    }
+
+    private static ExpenseExportRow exportRow(Expense e) {
+        return new ExpenseExportRow(e.getId(), e.getAmount(), e.getDescription(), e.getDate(),
+                e.getCategory().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "Synthetic" + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+}
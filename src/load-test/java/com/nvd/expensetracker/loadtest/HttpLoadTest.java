@@ -0,0 +1,70 @@
+package com.nvd.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Boots the whole application on a random port, seeds users and expenses over
+ * HTTP, then drives the mixed workload and fails if any request errored, overall
+ * throughput dropped below {@code loadtest.min-throughput} or an operation's p95/p99
+ * exceeded its threshold. Runs on H2 by default; pass
+ * {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/<scratch db>}
+ * (plus username, password and {@code -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect})
+ * to use a local PostgreSQL instead. The schema is recreated on every run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "load-test"})
+class HttpLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload_shouldStayWithinThresholds() throws Exception {
+        LoadTestSettings settings = Binder.get(environment).bindOrCreate("loadtest", LoadTestSettings.class);
+        LoadClient client = new LoadClient(URI.create("http://localhost:" + port), objectMapper);
+
+        List<SeededUser> users = new Seeder(client, settings).seed();
+        // VirtualThreadsConfig fails startup when the property is set on a JVM without virtual threads
+        String executionMode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                ? "virtual" : "platform";
+        LoadRunner runner = new LoadRunner(client, executionMode, settings, users);
+        runner.run(settings.warmup());
+        LoadReport report = runner.run(settings.duration());
+
+        report.print(System.out);
+        report.write(Path.of(settings.report()), objectMapper);
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(report.errors()).as("failed requests").isZero();
+        softly.assertThat(report.throughput()).as("requests per second").isGreaterThanOrEqualTo(settings.minThroughput());
+        settings.thresholds().forEach((operation, threshold) -> {
+            LoadReport.Endpoint endpoint = report.endpoint(operation);
+            if (endpoint == null) {
+                return;
+            }
+            softly.assertThat(endpoint.p95Millis()).as(operation + " p95 ms")
+                    .isLessThanOrEqualTo((double) threshold.p95().toMillis());
+            softly.assertThat(endpoint.p99Millis()).as(operation + " p99 ms")
+                    .isLessThanOrEqualTo((double) threshold.p99().toMillis());
+        });
+        softly.assertAll();
+    }
+}
@@ -0,0 +1,71 @@
+package com.nvd.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Throughput and latency percentiles of one measured run, overall and per operation. */
+record LoadReport(String executionMode, double seconds, int concurrency, long requests, long errors,
+                  double throughput, List<Endpoint> endpoints) {
+
+    record Endpoint(Operation operation, long requests, long errors, double throughput,
+                    double p50Millis, double p95Millis, double p99Millis, double maxMillis) {}
+
+    static LoadReport of(String executionMode, Map<Operation, LoadRunner.Samples> samples, Duration elapsed,
+                         int concurrency) {
+        double seconds = elapsed.toNanos() / 1e9;
+        List<Endpoint> endpoints = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, LoadRunner.Samples> entry : samples.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            long count = sorted.length + entry.getValue().errors();
+            requests += count;
+            errors += entry.getValue().errors();
+            endpoints.add(new Endpoint(entry.getKey(), count, entry.getValue().errors(), count / seconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        }
+        return new LoadReport(executionMode, seconds, concurrency, requests, errors, requests / seconds,
+                List.copyOf(endpoints));
+    }
+
+    Endpoint endpoint(Operation operation) {
+        return endpoints.stream().filter(e -> e.operation() == operation).findFirst().orElse(null);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nLoad test (%s threads): %d requests in %.1fs at concurrency %d -> %.1f req/s, %d errors%n",
+                executionMode, requests, seconds, concurrency, throughput, errors);
+        out.printf("%-12s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Endpoint e : endpoints) {
+            out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", e.operation(), e.requests(), e.errors(),
+                    e.throughput(), e.p50Millis(), e.p95Millis(), e.p99Millis(), e.maxMillis());
+        }
+    }
+
+    void write(Path file, ObjectMapper objectMapper) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
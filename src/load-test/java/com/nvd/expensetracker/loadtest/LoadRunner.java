@@ -0,0 +1,132 @@
+package com.nvd.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the weighted mix at a fixed concurrency: one closed-loop worker per slot,
+ * each sending its next request as soon as the previous one completed. Workers
+ * record into their own buffers, which are merged once the run is over.
+ */
+class LoadRunner {
+
+    private final LoadClient client;
+    private final String executionMode;
+    private final List<SeededUser> users;
+    private final int concurrency;
+    private final Operation[] weighted;
+
+    LoadRunner(LoadClient client, String executionMode, LoadTestSettings settings, List<SeededUser> users) {
+        this.client = client;
+        this.executionMode = executionMode;
+        this.users = users;
+        this.concurrency = settings.concurrency();
+        List<Operation> slots = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.weighted = slots.toArray(Operation[]::new);
+    }
+
+    LoadReport run(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Worker> workers = new ArrayList<>(concurrency);
+        List<Thread> threads = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(users.get(i % users.size()), deadline);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+        for (Worker worker : workers) {
+            worker.samples.forEach((operation, samples) ->
+                    merged.computeIfAbsent(operation, o -> new Samples()).addAll(samples));
+        }
+        return LoadReport.of(executionMode, merged, elapsed, concurrency);
+    }
+
+    private final class Worker implements Runnable {
+
+        private final SeededUser user;
+        private final long deadline;
+        private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+        Worker(SeededUser user, long deadline) {
+            this.user = user;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                Operation operation = weighted[random.nextInt(weighted.length)];
+                Samples recorded = samples.computeIfAbsent(operation, o -> new Samples());
+                long begin = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = client.send(operation.request(client, user, random)) / 100 == 2;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                recorded.add(System.nanoTime() - begin, ok);
+            }
+        }
+    }
+
+    /** Latencies of successful requests, in nanoseconds, plus a count of failed ones. */
+    static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nvd.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bound from {@code loadtest.*}; defaults live in application-load-test.properties
+ * and any of them can be overridden with -D on the Maven command line.
+ */
+record LoadTestSettings(
+        int users,
+        int expensesPerUser,
+        int categories,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        double minThroughput,
+        Map<Operation, Threshold> thresholds,
+        String report) {
+
+    record Threshold(Duration p95, Duration p99) {}
+}
@@ -0,0 +1,57 @@
+package com.nvd.expensetracker.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** The requests of the mixed workload, each issued as one of the seeded users. */
+enum Operation {
+
+    LIST {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            return client.get("/api/expenses?size=20", user.token());
+        }
+    },
+    FILTER {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            LocalDate end = Seeder.TODAY.minusDays(random.nextInt(Seeder.HISTORY_DAYS));
+            return client.get("/api/expenses/filter?categoryId=" + user.randomCategory(random)
+                    + "&startDate=" + end.minusDays(30) + "&endDate=" + end + "&size=20", user.token());
+        }
+    },
+    STATS {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            return client.get("/api/expenses/stats", user.token());
+        }
+    },
+    MONTHLY {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            return client.get("/api/expenses/stats/monthly", user.token());
+        }
+    },
+    TOTAL {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            LocalDate start = Seeder.TODAY.minusDays(random.nextInt(Seeder.HISTORY_DAYS));
+            return client.get("/api/expenses/total?startDate=" + start + "&endDate=" + Seeder.TODAY, user.token());
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            return client.post("/api/expenses", Seeder.expense(user, random), user.token());
+        }
+    },
+    EXPORT_CSV {
+        @Override
+        HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random) {
+            return client.get("/api/expenses/export/csv", user.token());
+        }
+    };
+
+    abstract HttpRequest request(LoadClient client, SeededUser user, ThreadLocalRandom random);
+}
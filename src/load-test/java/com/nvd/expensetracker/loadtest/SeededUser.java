@@ -0,0 +1,11 @@
+package com.nvd.expensetracker.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+record SeededUser(String email, String token, List<Long> categoryIds) {
+
+    Long randomCategory(ThreadLocalRandom random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+}
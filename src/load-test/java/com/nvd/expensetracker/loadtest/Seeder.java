@@ -0,0 +1,87 @@
+package com.nvd.expensetracker.loadtest;
+
+import com.nvd.expensetracker.auth.AuthenticationRequest;
+import com.nvd.expensetracker.auth.RegisterRequest;
+import com.nvd.expensetracker.dto.CategoryRequest;
+import com.nvd.expensetracker.dto.ExpenseBatchItem;
+import com.nvd.expensetracker.dto.ExpenseBatchRequest;
+import com.nvd.expensetracker.dto.ExpenseRequest;
+import com.nvd.expensetracker.service.ExpenseService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates the load-test data through the public API: users register and log in,
+ * categories are created once and every user saves its expenses in batches.
+ */
+class Seeder {
+
+    static final LocalDate TODAY = LocalDate.now();
+    static final int HISTORY_DAYS = 730;
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final LoadClient client;
+    private final LoadTestSettings settings;
+
+    Seeder(LoadClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    List<SeededUser> seed() throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>(settings.users());
+        List<String> emails = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            String email = "load-" + i + "@example.com";
+            client.exchange(client.post("/api/auth/register", new RegisterRequest("Load " + i, email, PASSWORD), null));
+            AuthenticationRequest login = new AuthenticationRequest();
+            login.setEmail(email);
+            login.setPassword(PASSWORD);
+            tokens.add(client.exchange(client.post("/api/auth/login", login, null)).get("token").asText());
+            emails.add(email);
+        }
+
+        List<Long> categoryIds = new ArrayList<>(settings.categories());
+        for (int i = 0; i < settings.categories(); i++) {
+            CategoryRequest category = new CategoryRequest();
+            category.setName("Load category " + i);
+            categoryIds.add(client.exchange(client.post("/api/categories", category, tokens.get(0))).get("id").asLong());
+        }
+
+        List<SeededUser> users = new ArrayList<>(settings.users());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < settings.users(); i++) {
+            SeededUser user = new SeededUser(emails.get(i), tokens.get(i), List.copyOf(categoryIds));
+            for (int saved = 0; saved < settings.expensesPerUser(); saved += ExpenseService.MAX_BATCH_SIZE) {
+                int size = Math.min(ExpenseService.MAX_BATCH_SIZE, settings.expensesPerUser() - saved);
+                List<ExpenseBatchItem> items = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    ExpenseRequest expense = expense(user, random);
+                    ExpenseBatchItem item = new ExpenseBatchItem();
+                    item.setDescription(expense.getDescription());
+                    item.setAmount(expense.getAmount());
+                    item.setDate(expense.getDate());
+                    item.setCategoryId(expense.getCategoryId());
+                    items.add(item);
+                }
+                client.exchange(client.post("/api/expenses/batch", new ExpenseBatchRequest(items), user.token()));
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    static ExpenseRequest expense(SeededUser user, ThreadLocalRandom random) {
+        return new ExpenseRequest(
+                "Load expense " + random.nextInt(1_000_000),
+                BigDecimal.valueOf(random.nextInt(1, 50_000), 2),
+                TODAY.minusDays(random.nextInt(HISTORY_DAYS)),
+                user.randomCategory(random));
+    }
+}
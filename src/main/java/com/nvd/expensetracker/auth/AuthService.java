@@ -4,21 +4,28 @@ import com.nvd.expensetracker.config.JwtService;
 import com.nvd.expensetracker.model.Role;
 import com.nvd.expensetracker.model.User;
 import com.nvd.expensetracker.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+
+    /** Checked for unknown emails so they cost one BCrypt verification like a wrong password. */
+    private String dummyHash;
+
+    @PostConstruct
+    void initDummyHash() {
+        dummyHash = passwordHashing.encode(UUID.randomUUID().toString());
+    }
 
     public void register(RegisterRequest request) {
         boolean emailExists = userRepository.existsByEmail(request.getEmail());
@@ -29,7 +36,7 @@ public class AuthService {
         User user = User.builder()
                 .fullName(request.getFullName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashing.encode(request.getPassword()))
                 .role(Role.USER)
                 .build();
 
@@ -37,17 +44,19 @@ public class AuthService {
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found!!!"));
+        var user = userRepository.findByEmail(request.getEmail()).orElse(null);
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        var verification = passwordHashing.verify(request.getPassword(),
+                user != null ? user.getPassword() : dummyHash);
+        if (user == null || !verification.matches()) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (verification.upgradedHash() != null) {
+            user.setPassword(verification.upgradedHash());
+            userRepository.save(user);
+        }
 
-        var jwtToken = jwtService.generateToken(user.getEmail());
+        var jwtToken = jwtService.generateToken(user);
 
         return new AuthenticationResponse(jwtToken);
     }
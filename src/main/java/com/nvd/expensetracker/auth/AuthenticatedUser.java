@@ -0,0 +1,33 @@
+package com.nvd.expensetracker.auth;
+
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built from a verified JWT: identity and role come from the token's
+ * claims, so authenticating a request needs no database lookup.
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements UserDetails {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    @Override public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override public String getPassword() { return null; }
+    @Override public String getUsername() { return email; }
+
+    @Override public boolean isAccountNonExpired() { return true; }
+    @Override public boolean isAccountNonLocked() { return true; }
+    @Override public boolean isCredentialsNonExpired() { return true; }
+    @Override public boolean isEnabled() { return true; }
+}
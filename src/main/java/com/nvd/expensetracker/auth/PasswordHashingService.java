@@ -0,0 +1,166 @@
+package com.nvd.expensetracker.auth;
+
+import com.nvd.expensetracker.exception.ServiceUnavailableException;
+import com.nvd.expensetracker.profiling.PasswordHashEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a burst of logins cannot occupy every
+ * request thread. When the pool and its queue are full, or a hash waits longer
+ * than the configured timeout, callers get a 503 instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    /** Result of checking a password; {@code upgradedHash} is set when the stored hash used another cost. */
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    public record Stats(int poolSize, int activeCount, int queueDepth, long completed, long rejected,
+                        long timedOut, double averageHashMillis, double maxHashMillis) {}
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final Duration timeout;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${auth.bcrypt-strength:10}") int strength,
+            @Value("${auth.password-hashing.pool-size:2}") int poolSize,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.timeout:PT5S}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> timed(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Checks the password and, if it matches a hash made with a different cost,
+     * rehashes it in the same task so the caller can store the upgraded hash.
+     */
+    public Verification verify(CharSequence rawPassword, String encodedPassword) {
+        return submit("verify", () -> {
+            boolean matches = timed(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            if (!matches || !needsRehash(encodedPassword)) {
+                return new Verification(matches, null);
+            }
+            return new Verification(true, timed(() -> passwordEncoder.encode(rawPassword)));
+        });
+    }
+
+    boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public Stats stats() {
+        long count = completed.sum();
+        return new Stats(
+                executor.getMaxPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueueSize(),
+                count,
+                rejected.sum(),
+                timedOut.sum(),
+                count == 0 ? 0 : hashNanos.sum() / 1e6 / count,
+                maxHashNanos.get() / 1e6);
+    }
+
+    private <T> T submit(String operation, Callable<T> task) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        event.operation = operation;
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                event.queueWait = started - submitted;
+                try {
+                    return task.call();
+                } finally {
+                    event.hashTime = System.nanoTime() - started;
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            rejected.increment();
+            event.outcome = "rejected";
+            event.commit();
+            throw new ServiceUnavailableException("Authentication is busy, please retry shortly");
+        }
+        try {
+            T result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            event.outcome = "completed";
+            return result;
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            timedOut.increment();
+            event.outcome = "timed-out";
+            throw new ServiceUnavailableException("Authentication is busy, please retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            event.outcome = "interrupted";
+            throw new ServiceUnavailableException("Authentication was interrupted");
+        } catch (ExecutionException ex) {
+            event.outcome = "failed";
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            event.commit();
+        }
+    }
+
+    private <T> T timed(Callable<T> hash) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return hash.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            hashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.nvd.expensetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of the pool. Permits default
+ * to Hikari's maximum pool size, so callers queue on the semaphore rather than
+ * inside Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expense.datasource.concurrency-limit.enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    // Hikari's own default, applied only when the pool starts (until then the size reads -1)
+    static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int defaultPermits = HIKARI_DEFAULT_POOL_SIZE;
+                if (bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() >= 1) {
+                    defaultPermits = hikari.getMaximumPoolSize();
+                }
+                int permits = environment.getProperty(
+                        "expense.datasource.concurrency-limit.permits", Integer.class, defaultPermits);
+                Duration timeout = environment.getProperty(
+                        "expense.datasource.concurrency-limit.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                return new ConnectionLimitingDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            // Other wrappers, e.g. StatementTrackingDataSource, may sit in front of the limiter
+            ConnectionLimitingDataSource limiter;
+            try {
+                if (!dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    return;
+                }
+                limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Cannot unwrap the connection limiter", ex);
+            }
+            Gauge.builder("expense.datasource.limit.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                    .description("Connection permits currently free")
+                    .register(registry);
+            Gauge.builder("expense.datasource.limit.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                    .description("Callers queued for a connection permit")
+                    .register(registry);
+        };
+    }
+}
@@ -1,5 +1,9 @@
 package com.nvd.expensetracker.config;
 
+import com.nvd.expensetracker.auth.AuthenticatedUser;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.profiling.JwtAuthenticationEvent;
+import com.nvd.expensetracker.tracing.RequestTrace;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +11,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -28,46 +31,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
             FilterChain filterChain)
         throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
-
-        System.out.println("Token: " + authHeader);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7); // remove "Bearer "
-
+        final String jwt = authHeader.substring(7); // remove "Bearer "
+        final AuthenticatedUser principal;
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        int span = RequestTrace.start("jwt.authenticate");
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            principal = resolvePrincipal(jwt, event);
+            event.valid = true;
         } catch (Exception e) {
-            // If token is invalid → return 401
+            // Bad token (malformed, signature or expired) → return 401
+            event.commit();
+            RequestTrace.finish(span);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // 401
-            response.getWriter().write("Invalid or malformed JWT token");
+            response.getWriter().write("JWT is not valid or expired");
             return;
         }
 
-        // if the user is not authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else {
-                // Bad token (signature or expired)
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("JWT is not valid or expired");
-                return;
-            }
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            principal,
+                            null,
+                            principal.getAuthorities()
+                    );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
+        event.commit();
+        RequestTrace.finish(span);
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser resolvePrincipal(String jwt, JwtAuthenticationEvent event) {
+        long start = System.nanoTime();
+        JwtService.VerifiedClaims claims = jwtService.parseAuthenticatedUser(jwt);
+        event.verifyTime = System.nanoTime() - start;
+        if (claims.user() != null) {
+            return claims.user();
+        }
+        // Tokens issued before the uid/role claims existed: look the user up once more
+        event.legacyToken = true;
+        long lookupStart = System.nanoTime();
+        User user = (User) userDetailsService.loadUserByUsername(claims.subject());
+        event.userLookupTime = System.nanoTime() - lookupStart;
+        return AuthenticatedUser.of(user);
+    }
 }
\ No newline at end of file
@@ -1,63 +1,153 @@
 package com.nvd.expensetracker.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nvd.expensetracker.auth.AuthenticatedUser;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; a token is
+ * parsed and verified in a single pass, and successfully verified tokens can be
+ * remembered (by SHA-256 digest, never the raw token) until they expire.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
 
-    public String generateToken(String email) {
+    private static final long TOKEN_TTL_MILLIS = 1000 * 60 * 60 * 24; // 24h
+
+    /**
+     * The identity carried by a verified token. {@code user} is {@code null} for tokens
+     * issued before the id and role claims were added; those only name the subject.
+     */
+    public record VerifiedClaims(String subject, AuthenticatedUser user) {}
+
+    record VerifiedToken(VerifiedClaims claims, long expiresAtMillis) {}
+
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, VerifiedToken> verified;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.verification-cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.verified = cacheMaximumSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaximumSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public String generateToken(User user) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24h
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TOKEN_TTL_MILLIS))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Parses the token and checks its signature and expiry in one pass.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean isTokenValid(String token, String email) {
-        final String username = extractUsername(token);
-        return (username.equals(email)) && !isTokenExpired(token);
-    }
+    /**
+     * Verifies the token and builds the principal from its claims, reusing an earlier
+     * verification of the same token while it is still valid.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    @Timed(value = "jwt.verification", description = "Token verification, including verified-token cache hits")
+    public VerifiedClaims parseAuthenticatedUser(String token) {
+        if (verified == null) {
+            return toVerifiedClaims(verify(token));
+        }
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.claims();
+        }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        Claims claims = verify(token);
+        VerifiedClaims result = toVerifiedClaims(claims);
+        if (result.user() != null && claims.getExpiration() != null) {
+            verified.put(digest, new VerifiedToken(result, claims.getExpiration().getTime()));
+        }
+        return result;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public CacheStats cacheStats() {
+        return verified != null ? verified.stats() : CacheStats.empty();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static VerifiedClaims toVerifiedClaims(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return new VerifiedClaims(claims.getSubject(), null);
+        }
+        return new VerifiedClaims(claims.getSubject(),
+                new AuthenticatedUser(userId, claims.getSubject(), Role.valueOf(role)));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            long remaining = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
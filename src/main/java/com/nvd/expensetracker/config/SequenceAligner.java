@@ -0,0 +1,60 @@
+package com.nvd.expensetracker.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static com.nvd.expensetracker.query.SequenceQueries.ALIGN_SEQUENCE;
+
+/**
+ * Ids used to come from identity columns. After the switch to pooled sequences a
+ * freshly created sequence would hand out ids that already exist, so at startup
+ * each sequence is moved past its table's highest id. It never moves backwards.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceAligner {
+
+    // Must match allocationSize of the entities' @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> TABLES_BY_SEQUENCE = Map.of(
+            "expense_seq", "expense",
+            "budgets_seq", "budgets",
+            "category_seq", "category",
+            "users_seq", "users"
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAligner(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    void align() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        TABLES_BY_SEQUENCE.forEach((sequence, table) -> {
+            List<Long> moved = jdbcTemplate.queryForList(
+                    String.format(ALIGN_SEQUENCE, sequence, table, ALLOCATION_SIZE), Long.class);
+            if (!moved.isEmpty()) {
+                log.info("Moved sequence {} past existing ids in {} to {}", sequence, table, moved.get(0));
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.nvd.expensetracker.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a {@link StatementTrackingDataSource} so statements can be
+ * counted per request; see {@code QueryBudgetFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expense.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementTrackingConfig {
+
+    @Bean
+    static BeanPostProcessor statementTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof StatementTrackingDataSource) {
+                    return bean;
+                }
+                return new StatementTrackingDataSource(dataSource);
+            }
+        };
+    }
+}
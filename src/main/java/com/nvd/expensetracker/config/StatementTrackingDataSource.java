@@ -0,0 +1,81 @@
+package com.nvd.expensetracker.config;
+
+import com.nvd.expensetracker.metrics.RequestQueryStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through its connections and records it against
+ * the current request ({@link RequestQueryStats}). Connections and statements are
+ * JDK proxies; everything other than the execute methods passes straight through.
+ */
+public class StatementTrackingDataSource extends DelegatingDataSource {
+
+    public StatementTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracking(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracking(super.getConnection(username, password));
+    }
+
+    private static Connection tracking(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return tracking(statement, statementType(method.getReturnType()), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement tracking(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            if (method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch")) {
+                sql = "[batch] " + sql;
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                RequestQueryStats.record(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static Class<? extends Statement> statementType(Class<?> declared) {
+        if (CallableStatement.class.isAssignableFrom(declared)) {
+            return CallableStatement.class;
+        }
+        return PreparedStatement.class.isAssignableFrom(declared) ? PreparedStatement.class : Statement.class;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
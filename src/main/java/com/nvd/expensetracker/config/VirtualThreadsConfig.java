@@ -0,0 +1,27 @@
+package com.nvd.expensetracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start with {@code spring.threads.virtual.enabled} on a JVM without
+ * virtual threads. The build targets Java 17, where Spring ignores the property
+ * and would quietly keep serving requests on platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    VirtualThreadsConfig() {
+        requireVirtualThreads(Runtime.version().feature());
+    }
+
+    static void requireVirtualThreads(int javaVersion) {
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled (virtual-threads profile) needs Java "
+                    + MIN_JAVA_VERSION + " or later, this JVM is Java " + javaVersion);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.nvd.expensetracker.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nvd.expensetracker.auth.PasswordHashingService;
+import com.nvd.expensetracker.exception.BadRequestException;
+import com.nvd.expensetracker.logging.AsyncHttpLogWriter;
+import com.nvd.expensetracker.logging.CountingAsyncAppender;
+import com.nvd.expensetracker.profiling.JfrRecordingService;
+import com.nvd.expensetracker.tracing.OtlpTraces;
+import com.nvd.expensetracker.tracing.SlowTraceStore;
+import com.nvd.expensetracker.tracing.TracingProperties;
+import com.nvd.expensetracker.service.ExpenseStatsCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    static final int MAX_TRACE_LIMIT = 1000;
+
+    private final ExpenseStatsCache statsCache;
+    private final PasswordHashingService passwordHashing;
+    private final AsyncHttpLogWriter httpLogWriter;
+    private final JfrRecordingService jfrRecordings;
+    private final SlowTraceStore traceStore;
+    private final TracingProperties tracingProperties;
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getStatsCacheCounters() {
+        CacheStats stats = statsCache.stats();
+        return ResponseEntity.ok(Map.of(
+                "size", statsCache.size(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount(),
+                "hitRate", stats.hitRate()
+        ));
+    }
+
+    @GetMapping("/auth/hashing/stats")
+    public ResponseEntity<PasswordHashingService.Stats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashing.stats());
+    }
+
+    @GetMapping("/logging/stats")
+    public ResponseEntity<?> getRequestLogCounters() {
+        return ResponseEntity.ok(Map.of(
+                "written", httpLogWriter.written(),
+                "dropped", httpLogWriter.dropped(),
+                "pending", httpLogWriter.pending(),
+                "capacity", httpLogWriter.capacity(),
+                "appenders", CountingAsyncAppender.registered().stream().collect(Collectors.toMap(
+                        CountingAsyncAppender::getName,
+                        appender -> Map.of(
+                                "queueSize", appender.getQueueSize(),
+                                "queued", appender.getNumberOfElementsInQueue(),
+                                "discarded", appender.getDiscardedCount(),
+                                "dropped", appender.getDroppedCount())))
+        ));
+    }
+
+    /** Slowest requests of the tracing window as OTLP/JSON, slowest first. */
+    @GetMapping("/traces/slowest")
+    public ResponseEntity<Map<String, Object>> getSlowestTraces(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_TRACE_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_TRACE_LIMIT);
+        }
+        return ResponseEntity.ok(OtlpTraces.toJson(traceStore.slowest(limit), tracingProperties.getServiceName()));
+    }
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<JfrRecordingService.Status> startRecording(
+            @RequestParam(defaultValue = "PT60S") Duration duration,
+            @RequestParam(defaultValue = "default") String settings) {
+        return ResponseEntity.ok(jfrRecordings.start(duration, settings));
+    }
+
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<JfrRecordingService.Status> stopRecording() {
+        return ResponseEntity.ok(jfrRecordings.stop());
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<JfrRecordingService.Status> getRecordingStatus() {
+        return ResponseEntity.ok(jfrRecordings.status());
+    }
+
+    @GetMapping("/jfr/download")
+    public void downloadRecording(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        JfrRecordingService.Download recording = jfrRecordings.download();
+        try {
+            FileRangeResponder.serve(recording.file(), recording.sizeBytes(), "application/octet-stream",
+                    "expense-tracker-" + recording.id() + ".jfr", "\"jfr-" + recording.id() + "\"", request, response);
+        } finally {
+            jfrRecordings.finishDownload(recording);
+        }
+    }
+}
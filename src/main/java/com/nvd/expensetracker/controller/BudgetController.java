@@ -1,5 +1,7 @@
 package com.nvd.expensetracker.controller;
 
+import com.nvd.expensetracker.auth.CurrentUserId;
+import com.nvd.expensetracker.dto.BudgetBatchRequest;
 import com.nvd.expensetracker.dto.BudgetRequest;
 import com.nvd.expensetracker.dto.BudgetResponse;
 import com.nvd.expensetracker.dto.ExpenseResponse;
@@ -10,15 +12,14 @@ import com.nvd.expensetracker.model.Category;
 import com.nvd.expensetracker.model.Expense;
 import com.nvd.expensetracker.model.User;
 import com.nvd.expensetracker.repository.BudgetRepository;
-import com.nvd.expensetracker.repository.CategoryRepository;
 import com.nvd.expensetracker.repository.ExpenseRepository;
 import com.nvd.expensetracker.repository.UserRepository;
+import com.nvd.expensetracker.service.BudgetService;
+import com.nvd.expensetracker.service.CategoryRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -32,28 +33,22 @@ public class BudgetController {
     private final ModelMapper modelMapper;
     private final BudgetRepository budgetRepo;
     private final UserRepository userRepo;
-    private final CategoryRepository categoryRepo;
+    private final CategoryRegistry categoryRegistry;
+    private final BudgetService budgetService;
 
     @GetMapping
-    public ResponseEntity<?> getAllBudgets(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        List<BudgetResponse> response = budgetRepo.findByUser(user).stream()
-                .map(b -> BudgetResponse.builder()
-                        .id(b.getId())
-                        .amount(b.getAmount())
-                        .categoryName(b.getCategory().getName())
-                        .build())
-                .toList();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getAllBudgets(@CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        return ResponseEntity.ok(budgetService.getBudgets(user));
     }
 
     @PostMapping
     public ResponseEntity<?> createBudget(
             @Valid @RequestBody BudgetRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUserId Long userId) {
 
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        Category category = categoryRepo.findById(request.getCategoryId())
+        User user = userRepo.getReferenceById(userId);
+        Category category = categoryRegistry.find(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
 
         Budget budget = Budget.builder()
@@ -61,32 +56,48 @@ public class BudgetController {
                 .category(category)
                 .user(user)
                 .build();
-        Budget saved = budgetRepo.save(budget);
+        Budget saved = budgetRepo.saveAndFlush(budget);
         BudgetResponse response = modelMapper.map(saved, BudgetResponse.class);
         response.setCategoryName(category.getName());
 
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/batch")
+    public ResponseEntity<List<BudgetResponse>> upsertBudgets(
+            @Valid @RequestBody BudgetBatchRequest request,
+            @CurrentUserId Long userId) {
+
+        User user = userRepo.getReferenceById(userId);
+        List<BudgetResponse> response = budgetService.upsertBudgets(request.getItems(), user).stream()
+                .map(b -> BudgetResponse.builder()
+                        .id(b.getId())
+                        .amount(b.getAmount())
+                        .categoryName(b.getCategory().getName())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateBudget(
             @PathVariable Long id,
             @Valid @RequestBody BudgetRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUserId Long userId) {
 
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+        User user = userRepo.getReferenceById(userId);
 
         return budgetRepo.findById(id).map(budget -> {
             if (!budget.getUser().getId().equals(user.getId())) {
                 throw new AccessDeniedException("You do not have permission to update this budget.");
             }
 
-            Category category = categoryRepo.findById(request.getCategoryId())
+            Category category = categoryRegistry.find(request.getCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
 
             budget.setAmount(request.getAmount());
             budget.setCategory(category);
-            Budget savedBudget = budgetRepo.save(budget);
+            Budget savedBudget = budgetRepo.saveAndFlush(budget);
 
             BudgetResponse budgetResponse = BudgetResponse.builder()
                     .id(savedBudget.getId())
@@ -99,8 +110,8 @@ public class BudgetController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id,
-                                    @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+                                    @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
         return budgetRepo.findById(id).map(bud -> {
             if (!bud.getUser().getId().equals(user.getId())) {
                 throw new AccessDeniedException("You do not have permission to delete it");
@@ -5,6 +5,7 @@ import com.nvd.expensetracker.dto.CategoryResponse;
 import com.nvd.expensetracker.exception.ResourceNotFoundException;
 import com.nvd.expensetracker.model.Category;
 import com.nvd.expensetracker.repository.CategoryRepository;
+import com.nvd.expensetracker.service.CategoryRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -20,17 +21,11 @@ public class CategoryController {
 
     private final ModelMapper modelMapper;
     private final CategoryRepository categoryRepo;
+    private final CategoryRegistry categoryRegistry;
 
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> categories = categoryRepo.findAll().stream()
-                .map(c -> CategoryResponse.builder()
-                        .id(c.getId())
-                        .name(c.getName())
-                        .build())
-                .toList();
-
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok(categoryRegistry.list());
     }
 
     @PostMapping
@@ -39,6 +34,7 @@ public class CategoryController {
                 .name(request.getName())
                 .build();
         Category saved = categoryRepo.save(category);
+        categoryRegistry.invalidate();
         return ResponseEntity.ok(modelMapper.map(saved, CategoryResponse.class));
     }
 
@@ -48,6 +44,7 @@ public class CategoryController {
         category.setName(request.getName());
 
         Category saved = categoryRepo.save(category);
+        categoryRegistry.invalidate();
         return ResponseEntity.ok(modelMapper.map(saved, CategoryResponse.class));
     }
 
@@ -57,6 +54,7 @@ public class CategoryController {
             return ResponseEntity.notFound().build();
         }
         categoryRepo.deleteById(id);
+        categoryRegistry.invalidate();
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,19 +1,19 @@
 package com.nvd.expensetracker.controller;
 
+import com.nvd.expensetracker.auth.CurrentUserId;
 import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.CursorPage;
+import com.nvd.expensetracker.dto.ExpenseBatchRequest;
 import com.nvd.expensetracker.dto.ExpenseRequest;
 import com.nvd.expensetracker.dto.ExpenseResponse;
+import com.nvd.expensetracker.dto.ImportReport;
 import com.nvd.expensetracker.dto.MonthlyStats;
-import com.nvd.expensetracker.exception.AccessDeniedException;
-import com.nvd.expensetracker.exception.ResourceNotFoundException;
 import com.nvd.expensetracker.logging.LogUtil;
-import com.nvd.expensetracker.model.Category;
 import com.nvd.expensetracker.model.Expense;
 import com.nvd.expensetracker.model.User;
-import com.nvd.expensetracker.repository.CategoryRepository;
-import com.nvd.expensetracker.repository.ExpenseRepository;
 import com.nvd.expensetracker.repository.UserRepository;
 import com.nvd.expensetracker.service.CsvExportService;
+import com.nvd.expensetracker.service.CsvImportService;
 import com.nvd.expensetracker.service.ExcelExportService;
 import com.nvd.expensetracker.service.ExpenseService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -21,16 +21,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -41,100 +40,78 @@ import java.util.Map;
 public class ExpenseController {
 
     private final ModelMapper modelMapper;
-    private final ExpenseRepository expenseRepo;
     private final ExpenseService expenseService;
     private final CsvExportService csvExportService;
+    private final CsvImportService csvImportService;
     private final ExcelExportService excelExportService;
     private final UserRepository userRepo;
-    private final CategoryRepository categoryRepo;
 
     @GetMapping
-    public ResponseEntity<?> getAllExpenses(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-
-        List<ExpenseResponse> response = expenseRepo.findByUser(user).stream()
-                .map(exp -> ExpenseResponse.builder()
-                        .id(exp.getId())
-                        .description(exp.getDescription())
-                        .amount(exp.getAmount())
-                        .date(exp.getDate())
-                        .categoryName(exp.getCategory().getName())
-                        .build())
-                .toList();
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getAllExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size,
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        CursorPage<ExpenseResponse> page = expenseService.filterExpenses(user, null, null, null, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @PostMapping
     public ResponseEntity<ExpenseResponse> createExpense(
             @Valid @RequestBody ExpenseRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        Category category = categoryRepo.findById(request.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Expense not found"));
-
-        Expense expense = Expense.builder()
-                .amount(request.getAmount())
-                .description(request.getDescription())
-                .date(request.getDate())
-                .user(user)
-                .category(category)
-                .build();
+            @CurrentUserId Long userId) {
 
-        Expense saved = expenseRepo.save(expense);
+        User user = userRepo.getReferenceById(userId);
+        Expense saved = expenseService.createExpense(request, user);
 
         ExpenseResponse response = modelMapper.map(saved, ExpenseResponse.class);
-        response.setCategoryName(category.getName());
+        response.setCategoryName(saved.getCategory().getName());
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ExpenseResponse>> saveExpenses(
+            @Valid @RequestBody ExpenseBatchRequest request,
+            @CurrentUserId Long userId) {
+
+        User user = userRepo.getReferenceById(userId);
+        List<ExpenseResponse> response = expenseService.saveExpenses(request.getItems(), user).stream()
+                .map(saved -> {
+                    ExpenseResponse item = modelMapper.map(saved, ExpenseResponse.class);
+                    item.setCategoryName(saved.getCategory().getName());
+                    return item;
+                })
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ExpenseResponse> updateExpense(
             @PathVariable Long id,
             @Valid @RequestBody ExpenseRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        Category category = categoryRepo.findById(request.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Expense not found"));
-
-        return expenseRepo.findById(id).map(exp -> {
-            if (!exp.getUser().getId().equals(user.getId())) {
-                throw new AccessDeniedException("You do not have permission to update this expense.");
-            }
-
-            exp.setAmount(request.getAmount());
-            exp.setDescription(request.getDescription());
-            exp.setDate(request.getDate());
-            exp.setCategory(category);
-
-            expenseRepo.save(exp);
-
-            ExpenseResponse response = ExpenseResponse.builder()
-                    .id(exp.getId())
-                    .description(exp.getDescription())
-                    .amount(exp.getAmount())
-                    .date(exp.getDate())
-                    .categoryName(category.getName())
-                    .build();
-
-            return ResponseEntity.ok(response);
-        }).orElse(ResponseEntity.notFound().build());
+            @CurrentUserId Long userId) {
+
+        User user = userRepo.getReferenceById(userId);
+        Expense exp = expenseService.updateExpense(id, request, user);
+
+        ExpenseResponse response = ExpenseResponse.builder()
+                .id(exp.getId())
+                .description(exp.getDescription())
+                .amount(exp.getAmount())
+                .date(exp.getDate())
+                .categoryName(exp.getCategory().getName())
+                .build();
+
+        return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id,
-                                    @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        return expenseRepo.findById(id).map(exp -> {
-            if (!exp.getUser().getId().equals(user.getId())) {
-                throw new AccessDeniedException("You do not have permission to delete it");
-            }
-            expenseRepo.deleteById(id);
-            return ResponseEntity.noContent().build();
-        }).orElse(ResponseEntity.notFound().build());
+                                    @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        expenseService.deleteExpense(id, user);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/filter")
@@ -142,9 +119,12 @@ public class ExpenseController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        List<Expense> filtered = expenseService.filterExpenses(user, categoryId, startDate, endDate);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size,
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        CursorPage<ExpenseResponse> filtered = expenseService.filterExpenses(
+                user, categoryId, startDate, endDate, cursor, size);
         return ResponseEntity.ok(filtered);
     }
 
@@ -153,15 +133,15 @@ public class ExpenseController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
         BigDecimal totalExpense = expenseService.getTotalExpense(user, startDate, endDate);
         return ResponseEntity.ok(Map.of("total", totalExpense));
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<?> getCategoryStats(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+    public ResponseEntity<?> getCategoryStats(@CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
         List<CategoryExpenseStats> stats = expenseService.getStatsByCategory(user);
         return ResponseEntity.ok(Map.of("total", stats));
     }
@@ -171,51 +151,55 @@ public class ExpenseController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
         BigDecimal total = expenseService.getFilteredTotal(user, categoryId, startDate, endDate);
         return ResponseEntity.ok(Map.of("total", total));
     }
 
     @GetMapping("/stats/monthly")
     public ResponseEntity<List<MonthlyStats>> getStatsByMonth(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUserId Long userId) {
 
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
+        User user = userRepo.getReferenceById(userId);
         List<MonthlyStats> stats = expenseService.getMonthlyStats(user);
         return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/export/csv")
     public void exportExpensesToCsv(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             HttpServletResponse response) throws IOException {
 
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        List<Expense> expenses = expenseRepo.findByUser(user);
+        User user = userRepo.getReferenceById(userId);
 
         response.setContentType("text/csv; charset=UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=expenses.csv");
 
-        // Write BOM UTF-8 first
-        OutputStream out = response.getOutputStream();
-        out.write(0xEF); out.write(0xBB); out.write(0xBF); // BOM: UTF-8
+        csvExportService.writeExpensesToCsv(user, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importExpensesFromCsv(
+            @RequestParam("file") MultipartFile file,
+            @CurrentUserId Long userId) throws IOException, SQLException {
 
-        PrintWriter writer = new PrintWriter(out, true, StandardCharsets.UTF_8);
-        csvExportService.writeExpensesToCsv(expenses, writer);
+        User user = userRepo.getReferenceById(userId);
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(csvImportService.importCsv(user, in));
+        }
     }
 
     @GetMapping("/export/excel")
     public void exportExpensesToExcel(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             HttpServletResponse response) throws IOException {
 
-        User user = userRepo.findByEmail(userDetails.getUsername()).orElseThrow();
-        List<Expense> expenses = expenseRepo.findByUser(user);
+        User user = userRepo.getReferenceById(userId);
 
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader("Content-Disposition", "attachment; filename=expenses.xlsx");
 
-        excelExportService.writeExpensesToExcel(expenses, response.getOutputStream());
+        excelExportService.writeExpensesToExcel(user, response.getOutputStream());
     }
 }
\ No newline at end of file
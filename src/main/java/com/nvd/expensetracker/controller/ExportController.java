@@ -0,0 +1,78 @@
+package com.nvd.expensetracker.controller;
+
+import com.nvd.expensetracker.auth.CurrentUserId;
+import com.nvd.expensetracker.dto.ExportFormat;
+import com.nvd.expensetracker.dto.ExportJobResponse;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.UserRepository;
+import com.nvd.expensetracker.service.ExportJob;
+import com.nvd.expensetracker.service.ExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/expenses/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportJobService exportJobService;
+    private final UserRepository userRepo;
+
+    @PostMapping
+    public ResponseEntity<ExportJobResponse> createExport(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        ExportJob job = exportJobService.submit(user, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/expenses/exports/" + job.getId()))
+                .body(toResponse(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobResponse> getExport(
+            @PathVariable String id,
+            @CurrentUserId Long userId) {
+        User user = userRepo.getReferenceById(userId);
+        return ResponseEntity.ok(toResponse(exportJobService.getJob(id, user.getId())));
+    }
+
+    @GetMapping("/{id}/download")
+    public void downloadExport(
+            @PathVariable String id,
+            @CurrentUserId Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        User user = userRepo.getReferenceById(userId);
+        ExportJob job = exportJobService.startDownload(id, user.getId());
+        ExportFormat format = job.getFormat();
+
+        // With sendfile the connector streams after this returns; the job's ttl then runs from here
+        try {
+            FileRangeResponder.serve(job.getFile(), job.getSizeBytes(), format.getContentType(),
+                    "expenses." + format.getExtension(), "\"" + job.getId() + "\"", request, response);
+        } finally {
+            exportJobService.finishDownload(job);
+        }
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        boolean done = job.getStatus() == ExportJob.Status.DONE;
+        return ExportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus().name())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .sizeBytes(done ? job.getSizeBytes() : null)
+                .error(job.getError())
+                .downloadUrl(done ? "/api/expenses/exports/" + job.getId() + "/download" : null)
+                .build();
+    }
+}
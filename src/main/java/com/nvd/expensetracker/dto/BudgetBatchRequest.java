@@ -0,0 +1,17 @@
+package com.nvd.expensetracker.dto;
+
+import com.nvd.expensetracker.service.BudgetService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BudgetBatchRequest {
+
+    @NotEmpty(message = "Items are required")
+    @Size(max = BudgetService.MAX_BATCH_SIZE, message = "At most " + BudgetService.MAX_BATCH_SIZE + " items per batch")
+    private List<@Valid BudgetRequest> items;
+}
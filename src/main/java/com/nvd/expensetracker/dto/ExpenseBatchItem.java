@@ -0,0 +1,16 @@
+package com.nvd.expensetracker.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch save: creates a new expense when {@code id} is null,
+ * otherwise updates the caller's expense with that id.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ExpenseBatchItem extends ExpenseRequest {
+    private Long id;
+}
@@ -0,0 +1,21 @@
+package com.nvd.expensetracker.dto;
+
+import com.nvd.expensetracker.service.ExpenseService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseBatchRequest {
+
+    @NotEmpty(message = "Items are required")
+    @Size(max = ExpenseService.MAX_BATCH_SIZE, message = "At most " + ExpenseService.MAX_BATCH_SIZE + " items per batch")
+    private List<@Valid ExpenseBatchItem> items;
+}
@@ -0,0 +1,7 @@
+package com.nvd.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExpenseExportRow(Long id, BigDecimal amount, String description, LocalDate date, String category) {
+}
@@ -0,0 +1,23 @@
+package com.nvd.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+    private String id;
+    private ExportFormat format;
+    private String status;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private Long sizeBytes;
+    private String error;
+    private String downloadUrl;
+}
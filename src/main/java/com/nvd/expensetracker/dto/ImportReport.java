@@ -0,0 +1,20 @@
+package com.nvd.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+}
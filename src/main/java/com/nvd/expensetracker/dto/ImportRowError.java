@@ -0,0 +1,11 @@
+package com.nvd.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportRowError {
+    private long line;
+    private String message;
+}
@@ -1,6 +1,10 @@
 package com.nvd.expensetracker.exception;
 
 import com.nvd.expensetracker.logging.LogUtil;
+import com.nvd.expensetracker.service.CategoryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,13 +18,25 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    // A write naming a category that no longer exists. PostgreSQL reports both directions
+    // of a foreign key as 23503 and names the missing key; H2 uses 23506 for a missing parent
+    private static final Pattern POSTGRES_MISSING_CATEGORY =
+            Pattern.compile("Key \\(category_id\\)=\\(.*\\) is not present");
+    private static final Pattern H2_CATEGORY_FOREIGN_KEY =
+            Pattern.compile("(?i)foreign key\\(category_id\\)");
+
+    private final CategoryRegistry categoryRegistry;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -35,12 +51,59 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> handleBadRequest(BadRequestException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<?> handleAccessDenied(AccessDeniedException ex) {
         LogUtil.logException("handleAccessDenied", ex);
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ex.getMessage()));
     }
 
+    /**
+     * The category registry can still resolve a category deleted on another node, so
+     * writes referencing it fail the foreign key. That is answered as not found and
+     * the registry reloaded; every other violation stays a server error.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (isMissingCategory(ex)) {
+            categoryRegistry.invalidate();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Category not found"));
+        }
+        return handleGeneric(ex);
+    }
+
+    static boolean isMissingCategory(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getMessage() != null) {
+                Pattern missingCategory = switch (sql.getSQLState()) {
+                    case "23503" -> POSTGRES_MISSING_CATEGORY;
+                    case "23506" -> H2_CATEGORY_FOREIGN_KEY;
+                    default -> null;
+                };
+                if (missingCategory != null && missingCategory.matcher(sql.getMessage()).find()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
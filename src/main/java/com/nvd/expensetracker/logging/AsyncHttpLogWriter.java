@@ -0,0 +1,102 @@
+package com.nvd.expensetracker.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes request/response log events off the request thread. Events go into a
+ * {@link LogRingBuffer}; a single daemon thread drains it into the
+ * REQUEST_RESPONSE_LOGGER. If the writer falls behind, new events are dropped.
+ */
+@Component
+public class AsyncHttpLogWriter {
+
+    private static final Logger reqLogger = LoggerFactory.getLogger("REQUEST_RESPONSE_LOGGER");
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final LogRingBuffer<HttpLogEvent> buffer;
+    private final LongAdder written = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncHttpLogWriter(HttpLoggingProperties properties) {
+        this.buffer = new LogRingBuffer<>(properties.getBufferCapacity());
+        this.worker = new Thread(this::drainLoop, "http-log-writer");
+        worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * @return {@code false} if the buffer was full and the event was dropped
+     */
+    public boolean submit(HttpLogEvent event) {
+        return buffer.offer(event);
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long dropped() {
+        return buffer.dropped();
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // flush what was queued before shutdown
+        }
+    }
+
+    private void write(HttpLogEvent event) {
+        if (event.requestId() != null) {
+            MDC.put(RequestIdFilter.MDC_KEY, event.requestId());
+        }
+        try {
+            if (event.requestBody() != null) {
+                reqLogger.info("Request: {} {} body={}", event.method(), event.uri(), event.requestBody().describe());
+            }
+            reqLogger.info("Response: {} {} status={} time={}ms body={}",
+                    event.method(), event.uri(), event.status(), event.durationMicros() / 1000.0,
+                    event.responseBody() != null ? event.responseBody().describe() : "(not captured)");
+            written.increment();
+        } catch (RuntimeException ex) {
+            LogUtil.logError("Could not write request log", ex);
+        } finally {
+            MDC.remove(RequestIdFilter.MDC_KEY);
+        }
+    }
+}
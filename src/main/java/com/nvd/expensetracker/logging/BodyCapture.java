@@ -0,0 +1,78 @@
+package com.nvd.expensetracker.logging;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Keeps the first {@code limit} bytes written through a tee stream and counts the
+ * rest. Bodies that are not text are only counted.
+ */
+final class BodyCapture {
+
+    private final byte[] buffer;
+    private int length;
+    private long total;
+    private Boolean textual;
+    private Charset charset = StandardCharsets.UTF_8;
+
+    BodyCapture(int limit) {
+        this.buffer = new byte[Math.max(limit, 0)];
+    }
+
+    /** Decides once, on the first byte seen, whether this body is worth keeping. */
+    boolean accepts(String contentType, String characterEncoding) {
+        if (textual == null) {
+            textual = isTextual(contentType);
+            if (characterEncoding != null && Charset.isSupported(characterEncoding)) {
+                charset = Charset.forName(characterEncoding);
+            }
+        }
+        return textual;
+    }
+
+    void write(int b) {
+        if (length < buffer.length) {
+            buffer[length++] = (byte) b;
+        }
+        total++;
+    }
+
+    void write(byte[] bytes, int offset, int count) {
+        int kept = Math.min(count, buffer.length - length);
+        if (kept > 0) {
+            System.arraycopy(bytes, offset, buffer, length, kept);
+            length += kept;
+        }
+        total += count;
+    }
+
+    int remaining() {
+        return buffer.length - length;
+    }
+
+    void count(long bytes) {
+        total += bytes;
+    }
+
+    Charset charset() {
+        return charset;
+    }
+
+    CapturedBody toBody() {
+        if (!Boolean.TRUE.equals(textual) || total == 0) {
+            return null;
+        }
+        return new CapturedBody(Arrays.copyOf(buffer, length), total, charset);
+    }
+
+    static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.startsWith("application/x-www-form-urlencoded");
+    }
+}
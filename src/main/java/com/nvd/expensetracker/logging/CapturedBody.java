@@ -0,0 +1,14 @@
+package com.nvd.expensetracker.logging;
+
+import java.nio.charset.Charset;
+
+/**
+ * Leading bytes of a request or response body, plus how many bytes passed in total.
+ */
+record CapturedBody(byte[] head, long totalBytes, Charset charset) {
+
+    String describe() {
+        String text = new String(head, charset);
+        return totalBytes > head.length ? text + "...(truncated, " + totalBytes + " bytes)" : text;
+    }
+}
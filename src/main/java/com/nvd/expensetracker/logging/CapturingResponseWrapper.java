@@ -0,0 +1,128 @@
+package com.nvd.expensetracker.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Writes straight through to the client while remembering the first bytes of the
+ * body, so nothing is buffered beyond the capture limit.
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BodyCapture capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CapturingResponseWrapper(HttpServletResponse response, int maxBodyBytes) {
+        super(response);
+        this.capture = new BodyCapture(maxBodyBytes);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new TeeWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    CapturedBody capturedBody() {
+        return capture.toBody();
+    }
+
+    private boolean capturing() {
+        return capture.accepts(getContentType(), getCharacterEncoding());
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (capturing()) {
+                capture.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            if (capturing()) {
+                capture.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+
+    private final class TeeWriter extends Writer {
+
+        private final PrintWriter delegate;
+
+        TeeWriter(PrintWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            delegate.write(chars, offset, length);
+            if (capturing()) {
+                // Only encode what still fits; the remainder is counted, not copied
+                int kept = Math.min(length, capture.remaining());
+                Charset charset = capture.charset();
+                byte[] head = new String(chars, offset, kept).getBytes(charset);
+                capture.write(head, 0, head.length);
+                capture.count(length - kept);
+            }
+        }
+
+        @Override
+        public void flush() {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nvd.expensetracker.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts what it throws away: events discarded
+ * because the queue passed the discarding threshold (INFO and below), and events
+ * dropped because the queue was full in never-block mode. Counts are best effort;
+ * a queue that fills between the check and the enqueue is not counted.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final Map<String, CountingAsyncAppender> REGISTERED = new ConcurrentHashMap<>();
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public static Collection<CountingAsyncAppender> registered() {
+        return Collections.unmodifiableCollection(REGISTERED.values());
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            REGISTERED.put(getName(), this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        REGISTERED.remove(getName(), this);
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && remaining == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
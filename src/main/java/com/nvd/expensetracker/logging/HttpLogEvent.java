@@ -0,0 +1,9 @@
+package com.nvd.expensetracker.logging;
+
+/**
+ * One logged exchange. Bodies are {@code null} when not captured; they are decoded
+ * by the background writer, never on the request thread.
+ */
+record HttpLogEvent(String requestId, String method, String uri, int status, long durationMicros,
+                    CapturedBody requestBody, CapturedBody responseBody) {
+}
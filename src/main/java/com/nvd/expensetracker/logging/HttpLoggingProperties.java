@@ -0,0 +1,53 @@
+package com.nvd.expensetracker.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for {@link RequestResponseLoggingFilter}. Route sample rates are keyed by
+ * path prefix; the longest matching prefix wins, otherwise {@code sampleRate} applies.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "expense.http-logging")
+public class HttpLoggingProperties {
+
+    private boolean enabled = true;
+
+    /** Fraction of requests logged with bodies, 0.0 to 1.0. */
+    private double sampleRate = 1.0;
+
+    private Map<String, Double> routeSampleRates = new LinkedHashMap<>();
+
+    /** Only this many leading bytes of each body are kept. */
+    private int maxBodyBytes = 1000;
+
+    /** Pending events; when full, new events are dropped and counted. */
+    private int bufferCapacity = 8192;
+
+    private List<String> excludedPaths = new ArrayList<>(List.of(
+            "/swagger", "/swagger-ui", "/swagger-ui.html", "/v3/api-docs", "/favicon.ico"));
+
+    /** Large uploads and downloads: logged without their bodies. */
+    private List<String> streamingPaths = new ArrayList<>(List.of(
+            "/api/expenses/export", "/api/expenses/import", "/api/admin/jfr/download"));
+
+    double sampleRateFor(String uri) {
+        double rate = sampleRate;
+        int longest = -1;
+        for (Map.Entry<String, Double> route : routeSampleRates.entrySet()) {
+            String prefix = route.getKey();
+            if (prefix.length() > longest && uri.startsWith(prefix)) {
+                longest = prefix.length();
+                rate = route.getValue();
+            }
+        }
+        return rate;
+    }
+}
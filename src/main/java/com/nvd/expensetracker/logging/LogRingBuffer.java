@@ -0,0 +1,81 @@
+package com.nvd.expensetracker.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring for many producers and a single consumer.
+ * <p>
+ * Producers claim a sequence with a CAS and then publish into its slot; the
+ * consumer takes slots in sequence order and stops at the first one not yet
+ * published. {@link #offer} never blocks: when the ring is full the item is
+ * dropped and counted.
+ */
+public final class LogRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    public LogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean offer(T item) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.lazySet((int) sequence & mask, item);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code limit} items to the consumer. Must only be called from one thread at a time.
+     *
+     * @return the number of items drained
+     */
+    public int drain(Consumer<? super T> consumer, int limit) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) sequence & mask;
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            head.set(++sequence);
+            drained++;
+            consumer.accept(item);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
@@ -3,32 +3,38 @@ package com.nvd.expensetracker.logging;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-
-@Slf4j
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a sample of requests with the first {@code maxBodyBytes} of each body.
+ * Bodies are teed while they stream to and from the client instead of being
+ * cached, and the log line itself is written by {@link AsyncHttpLogWriter}.
+ * Requests that are not sampled are still logged, without bodies, if they fail
+ * with a 5xx.
+ */
 @Component
+@RequiredArgsConstructor
 public class RequestResponseLoggingFilter implements Filter {
 
-    private static final Logger reqLogger = LoggerFactory.getLogger("REQUEST_RESPONSE_LOGGER");
+    private final HttpLoggingProperties properties;
+    private final AsyncHttpLogWriter logWriter;
 
-    // List of URIs that do not need logging
-    private static final List<String> EXCLUDED_PATHS = List.of(
-            "/swagger", "/swagger-ui", "/swagger-ui.html", "/v3/api-docs", "/favicon.ico"
-    );
+    private boolean isExcluded(String uri) {
+        return properties.getExcludedPaths().stream().anyMatch(uri::startsWith);
+    }
 
-    private static final int MAX_BODY_LENGTH = 1000;
+    private boolean isStreaming(String uri) {
+        return properties.getStreamingPaths().stream().anyMatch(uri::startsWith);
+    }
 
-    private boolean isExcluded(String uri) {
-        return EXCLUDED_PATHS.stream().anyMatch(uri::startsWith);
+    private boolean isSampled(String uri) {
+        double rate = properties.sampleRateFor(uri);
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
     }
 
     @Override
@@ -36,37 +42,48 @@ public class RequestResponseLoggingFilter implements Filter {
             throws IOException, ServletException {
 
         HttpServletRequest httpReq = (HttpServletRequest) request;
+        HttpServletResponse httpResp = (HttpServletResponse) response;
         String requestUri = httpReq.getRequestURI();
 
-        // Ignore log if route is in exclusion list
-        if (isExcluded(requestUri)) {
+        // Ignore log if route is disabled or in exclusion list
+        if (!properties.isEnabled() || isExcluded(requestUri)) {
             chain.doFilter(request, response);
             return;
         }
 
-        // Wrap to read body
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(httpReq);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper((HttpServletResponse) response);
-
-        reqLogger.info("Incoming request: {} {}", wrappedRequest.getMethod(), requestUri);
-
-        chain.doFilter(wrappedRequest, wrappedResponse);
-
-        // Log body request
-        String requestBody = new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8);
-        if (!requestBody.isBlank()) {
-            reqLogger.info("Request body: {}", shorten(requestBody));
+        long start = System.nanoTime();
+        boolean sampled = isSampled(requestUri);
+
+        if (!sampled || isStreaming(requestUri)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (sampled || httpResp.getStatus() >= 500) {
+                    submit(httpReq, httpResp.getStatus(), start, null, null);
+                }
+            }
+            return;
         }
 
-        // Log body response
-        String responseBody = new String(wrappedResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
-        reqLogger.info("Outgoing response: status={}, body={}", wrappedResponse.getStatus(), shorten(responseBody));
-
-        wrappedResponse.copyBodyToResponse();
+        CapturingRequestWrapper wrappedRequest = new CapturingRequestWrapper(httpReq, properties.getMaxBodyBytes());
+        CapturingResponseWrapper wrappedResponse = new CapturingResponseWrapper(httpResp, properties.getMaxBodyBytes());
+        try {
+            chain.doFilter(wrappedRequest, wrappedResponse);
+        } finally {
+            submit(httpReq, wrappedResponse.getStatus(), start,
+                    wrappedRequest.capturedBody(), wrappedResponse.capturedBody());
+        }
     }
 
-    private String shorten(String body) {
-        if (body.length() <= MAX_BODY_LENGTH) return body;
-        return body.substring(0, MAX_BODY_LENGTH) + "...(truncated)";
+    private void submit(HttpServletRequest request, int status, long start,
+                        CapturedBody requestBody, CapturedBody responseBody) {
+        logWriter.submit(new HttpLogEvent(
+                MDC.get(RequestIdFilter.MDC_KEY),
+                request.getMethod(),
+                request.getRequestURI(),
+                status,
+                (System.nanoTime() - start) / 1000,
+                requestBody,
+                responseBody));
     }
 }
@@ -0,0 +1,84 @@
+package com.nvd.expensetracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.nvd.expensetracker.config.StatementTrackingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Records, per route, how many SQL statements, entity loads and second-level cache
+ * hits and misses each request caused ({@code hibernate.request.*} summaries tagged
+ * with {@code method} and {@code uri}), as counted in the request's
+ * {@link RequestQueryStats}. Statements are only recorded when the DataSource is
+ * tracked. Requests that did not reach a controller are not recorded.
+ */
+@Component
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final boolean statementsTracked;
+
+    public HibernateRequestMetricsFilter(MeterRegistry registry, EntityManagerFactory entityManagerFactory,
+                                         DataSource dataSource) throws SQLException {
+        this.registry = registry;
+        this.statementsTracked = dataSource.isWrapperFor(StatementTrackingDataSource.class);
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                    RequestQueryStats stats = RequestQueryStats.current();
+                    if (stats != null) {
+                        stats.entityLoaded();
+                    }
+                });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null && request.getAttribute(RequestQueryStats.ATTRIBUTE) instanceof RequestQueryStats stats) {
+                record(request.getMethod(), route.toString(), stats);
+            }
+        }
+    }
+
+    private void record(String method, String uri, RequestQueryStats stats) {
+        if (statementsTracked) {
+            summary("hibernate.request.statements", "SQL statements executed per request", method, uri)
+                    .record(stats.count());
+        }
+        summary("hibernate.request.entity.loads", "Entities loaded per request", method, uri)
+                .record(stats.entityLoads());
+        summary("hibernate.request.cache.hits", "Second-level cache hits per request", method, uri)
+                .record(stats.cacheHits());
+        summary("hibernate.request.cache.misses", "Second-level cache misses per request", method, uri)
+                .record(stats.cacheMisses());
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry);
+    }
+}
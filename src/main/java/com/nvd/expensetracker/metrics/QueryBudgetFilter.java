@@ -0,0 +1,50 @@
+package com.nvd.expensetracker.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the request's {@link RequestQueryStats}, so the JDBC statements it executes
+ * are counted including those issued by the security chain, and logs a warning with
+ * the slowest statement when a request goes over its query budget. Runs right after
+ * {@code RequestIdFilter} so the warning carries the request id.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            if (!properties.isEnabled()) {
+                return;
+            }
+            int budget = properties.maxStatementsFor(request.getRequestURI());
+            if (stats.count() > budget) {
+                log.warn("Query budget exceeded: {} {} ran {} statements (budget {}) in {} ms; slowest {} ms: {}",
+                        request.getMethod(), request.getRequestURI(), stats.count(), budget,
+                        stats.totalNanos() / 1_000_000, stats.slowestNanos() / 1_000_000, stats.slowestSql());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nvd.expensetracker.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for {@link QueryBudgetFilter}. Route budgets are keyed by path prefix;
+ * the longest matching prefix wins, otherwise {@code maxStatements} applies.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "expense.query-budget")
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    /** Statements a request may execute before it is logged. */
+    private int maxStatements = 10;
+
+    private Map<String, Integer> routeMaxStatements = new LinkedHashMap<>();
+
+    int maxStatementsFor(String uri) {
+        int budget = maxStatements;
+        int longest = -1;
+        for (Map.Entry<String, Integer> route : routeMaxStatements.entrySet()) {
+            String prefix = route.getKey();
+            if (prefix.length() > longest && uri.startsWith(prefix)) {
+                longest = prefix.length();
+                budget = route.getValue();
+            }
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,106 @@
+package com.nvd.expensetracker.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Database work done on behalf of the current request: JDBC statements (count, total
+ * time, the slowest one and up to {@value #MAX_RECORDED} SQL strings in execution
+ * order) recorded by {@code StatementTrackingDataSource}, plus Hibernate entity loads
+ * and second-level cache lookups. Filled while {@link QueryBudgetFilter} has a request
+ * open on this thread; afterwards available as the {@value #ATTRIBUTE} request
+ * attribute. Work on other threads (e.g. background exports) is not counted.
+ */
+public final class RequestQueryStats {
+
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    static final int MAX_RECORDED = 100;
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final List<String> statements = new ArrayList<>();
+    private int count;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestSql;
+    private long entityLoads;
+    private long cacheHits;
+    private long cacheMisses;
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /** Records one executed statement (a batch counts once) against the current request, if any. */
+    public static void record(String sql, long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.count++;
+        stats.totalNanos += nanos;
+        if (nanos > stats.slowestNanos || stats.slowestSql == null) {
+            stats.slowestNanos = nanos;
+            stats.slowestSql = sql;
+        }
+        if (stats.statements.size() < MAX_RECORDED) {
+            stats.statements.add(sql);
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void cacheLookup(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long slowestNanos() {
+        return slowestNanos;
+    }
+
+    public String slowestSql() {
+        return slowestSql;
+    }
+
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public long cacheHits() {
+        return cacheHits;
+    }
+
+    public long cacheMisses() {
+        return cacheMisses;
+    }
+}
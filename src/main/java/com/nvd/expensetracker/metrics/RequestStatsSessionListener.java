@@ -0,0 +1,19 @@
+package com.nvd.expensetracker.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Added to every Hibernate session through {@code hibernate.session.events.auto};
+ * counts second-level cache lookups into the current request's
+ * {@link RequestQueryStats}. Statements are counted at the JDBC level instead.
+ */
+public class RequestStatsSessionListener implements SessionEventListener {
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.cacheLookup(hit);
+        }
+    }
+}
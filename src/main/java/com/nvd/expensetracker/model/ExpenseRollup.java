@@ -0,0 +1,41 @@
+package com.nvd.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running total and count of a user's expenses per month and category.
+ * Maintained in the same transaction as every expense write and rebuilt
+ * from raw rows by {@code ExpenseRollupService#reconcileAll()}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(ExpenseRollupId.class)
+@Table(name = "expense_rollup")
+public class ExpenseRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // First day of the month
+    @Id
+    private LocalDate month;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long count;
+}
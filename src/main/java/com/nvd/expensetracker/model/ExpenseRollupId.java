@@ -0,0 +1,17 @@
+package com.nvd.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRollupId implements Serializable {
+    private Long userId;
+    private LocalDate month;
+    private Long categoryId;
+}
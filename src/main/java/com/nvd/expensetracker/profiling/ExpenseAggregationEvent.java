@@ -0,0 +1,30 @@
+package com.nvd.expensetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One statistics call of {@code ExpenseService}, including the cache lookup. */
+@Name("com.nvd.expensetracker.ExpenseAggregation")
+@Label("Expense Aggregation")
+@Category({"Expense Tracker", "Service"})
+@StackTrace(false)
+public class ExpenseAggregationEvent extends Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Aggregation")
+    public String aggregation;
+
+    @Label("Result Size")
+    @Description("Entries in the result (categories or months), 1 for a single total; not the rows read to compute it")
+    public long resultSize;
+
+    @Label("Cache Miss")
+    @Description("Whether the result was computed rather than served from the stats cache")
+    public boolean cacheMiss;
+}
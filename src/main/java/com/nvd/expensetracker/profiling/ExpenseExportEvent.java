@@ -0,0 +1,29 @@
+package com.nvd.expensetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A full CSV or Excel export; also committed when the client disconnects midway. */
+@Name("com.nvd.expensetracker.ExpenseExport")
+@Label("Expense Export")
+@Category({"Expense Tracker", "Service"})
+@StackTrace(false)
+public class ExpenseExportEvent extends Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+}
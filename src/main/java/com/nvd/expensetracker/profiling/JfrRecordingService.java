@@ -0,0 +1,208 @@
+package com.nvd.expensetracker.profiling;
+
+import com.nvd.expensetracker.exception.BadRequestException;
+import com.nvd.expensetracker.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs at most one time-bounded Flight Recorder recording at a time. The recording
+ * stops by itself after its duration (or on {@link #stop()}) and is written to a file
+ * that can be downloaded until the next recording replaces it. A replaced file is
+ * deleted by a later {@link #start} once no download of it has run for
+ * {@link #DOWNLOAD_GRACE}.
+ */
+@Slf4j
+@Service
+public class JfrRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    // With sendfile the connector streams the file after the controller has returned
+    static final Duration DOWNLOAD_GRACE = Duration.ofMinutes(1);
+
+    private static final class FileUse {
+        int activeDownloads;
+        Instant lastDownloadAt = Instant.MIN;
+    }
+
+    public record Status(long id, String state, String settings, Instant startedAt, Duration duration,
+                         Long sizeBytes) {}
+
+    /** A finished recording ready to be served. */
+    public record Download(long id, Path file, long sizeBytes) {}
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private Path file;
+    private String settings;
+    private final Map<Path, FileUse> files = new HashMap<>();
+
+    public JfrRecordingService(
+            @Value("${expense.jfr.directory:${java.io.tmpdir}/expense-jfr}") Path directory,
+            @Value("${expense.jfr.max-duration:PT15M}") Duration maxDuration,
+            @Value("${expense.jfr.max-size:256MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Starts a recording with the JDK's {@code default} (about 1% overhead) or
+     * {@code profile} settings, which also enable this application's custom events.
+     */
+    public synchronized Status start(Duration duration, String settingsName) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new BadRequestException("Duration must be positive and at most " + maxDuration);
+        }
+        if (!SETTINGS.contains(settingsName)) {
+            throw new BadRequestException("Settings must be one of " + SETTINGS);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BadRequestException("A recording is already running");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Cannot load JFR settings " + settingsName, ex);
+        }
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        file = null;
+        deleteIdleFiles(Instant.now().minus(DOWNLOAD_GRACE));
+
+        Recording next = new Recording(configuration);
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve("expense-tracker-" + next.getId() + ".jfr");
+            next.setName("expense-tracker-" + next.getId());
+            next.setToDisk(true);
+            next.setDuration(duration);
+            next.setMaxSize(maxSize.toBytes());
+            next.setDestination(target);
+            next.start();
+            file = target;
+            files.put(target, new FileUse());
+        } catch (IOException ex) {
+            next.close();
+            throw new UncheckedIOException(ex);
+        }
+        recording = next;
+        settings = settingsName;
+        log.info("Started JFR recording {} ({} settings) for {}", next.getId(), settingsName, duration);
+        return status();
+    }
+
+    /** Stops the running recording early; the file is written before this returns. */
+    public synchronized Status stop() {
+        Recording current = current();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+            log.info("Stopped JFR recording {}", current.getId());
+        }
+        return status();
+    }
+
+    public synchronized Status status() {
+        Recording current = current();
+        boolean finished = isFinished(current);
+        Long size = finished && Files.exists(file) ? sizeOf(file) : null;
+        return new Status(current.getId(), finished ? "STOPPED" : current.getState().name(), settings,
+                current.getStartTime(), current.getDuration(), size);
+    }
+
+    public synchronized Download download() {
+        Recording current = current();
+        if (!isFinished(current)) {
+            throw new BadRequestException("Recording " + current.getId() + " is still " + current.getState());
+        }
+        if (!Files.exists(file)) {
+            throw new ResourceNotFoundException("Recording " + current.getId() + " has no file");
+        }
+        FileUse use = files.get(file);
+        use.activeDownloads++;
+        use.lastDownloadAt = Instant.now();
+        return new Download(current.getId(), file, sizeOf(file));
+    }
+
+    /** Call once a file from {@link #download()} has been handed to the response. */
+    public synchronized void finishDownload(Download download) {
+        FileUse use = files.get(download.file());
+        if (use != null) {
+            use.activeDownloads--;
+            use.lastDownloadAt = Instant.now();
+        }
+    }
+
+    @PreDestroy
+    synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        file = null;
+        deleteIdleFiles(Instant.MAX);
+    }
+
+    // Deletes every file except the current one that no download has used since the cutoff
+    private void deleteIdleFiles(Instant cutoff) {
+        for (Iterator<Map.Entry<Path, FileUse>> it = files.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, FileUse> entry = it.next();
+            FileUse use = entry.getValue();
+            if (entry.getKey().equals(file) || use.activeDownloads > 0 || use.lastDownloadAt.isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(entry.getKey());
+                it.remove();
+            } catch (IOException ex) {
+                log.warn("Could not delete JFR recording {}", entry.getKey(), ex);
+            }
+        }
+    }
+
+    private Recording current() {
+        if (recording == null) {
+            throw new ResourceNotFoundException("No JFR recording has been started");
+        }
+        return recording;
+    }
+
+    // JFR closes a recording with a destination once it has been written
+    private static boolean isFinished(Recording recording) {
+        return recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED;
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nvd.expensetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Bearer token handling in {@code JwtAuthenticationFilter}. */
+@Name("com.nvd.expensetracker.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Expense Tracker", "Security"})
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Verify Time")
+    @Description("Parsing the token and checking its signature")
+    @Timespan
+    public long verifyTime;
+
+    @Label("User Lookup Time")
+    @Description("Loading the user for tokens without uid/role claims")
+    @Timespan
+    public long userLookupTime;
+
+    @Label("Legacy Token")
+    public boolean legacyToken;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,34 @@
+package com.nvd.expensetracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** A BCrypt encode or verify, as seen by the calling request thread. */
+@Name("com.nvd.expensetracker.PasswordHash")
+@Label("Password Hash")
+@Category({"Expense Tracker", "Security"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Queue Wait")
+    @Description("Time until a hashing thread picked up the task")
+    @Timespan
+    public long queueWait;
+
+    @Label("Hash Time")
+    @Description("Time spent in BCrypt, including an upgrade rehash")
+    @Timespan
+    public long hashTime;
+
+    @Label("Outcome")
+    @Description("completed, rejected, timed-out, interrupted or failed")
+    public String outcome;
+}
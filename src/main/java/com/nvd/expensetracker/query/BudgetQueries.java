@@ -0,0 +1,8 @@
+package com.nvd.expensetracker.query;
+
+public class BudgetQueries {
+    public static final String VIEWS_BY_USER =
+            "SELECT new com.nvd.expensetracker.dto.BudgetResponse(b.id, b.amount, c.name) " +
+                    "FROM Budget b LEFT JOIN b.category c WHERE b.user = :user " +
+                    "ORDER BY b.id";
+}
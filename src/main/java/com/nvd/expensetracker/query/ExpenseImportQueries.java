@@ -0,0 +1,10 @@
+package com.nvd.expensetracker.query;
+
+public class ExpenseImportQueries {
+    public static final String COPY_EXPENSES =
+            "COPY expense (id, user_id, category_id, amount, date, description) FROM STDIN WITH (FORMAT csv)";
+
+    // Fallback for databases without COPY
+    public static final String INSERT_EXPENSE =
+            "INSERT INTO expense (id, user_id, category_id, amount, date, description) VALUES (?, ?, ?, ?, ?, ?)";
+}
@@ -6,4 +6,55 @@ public class ExpenseQueries {
                     "AND (:categoryId IS NULL OR e.category.id = :categoryId) " +
                     "AND (:startDate IS NULL OR e.date >= :startDate) " +
                     "AND (:endDate IS NULL OR e.date <= :endDate)";
+
+    // Keyset page ordered newest first, served by idx_expense_user_date_id; one statement per page
+    public static final String PAGE_BY_CATEGORY_AND_DATE =
+            "SELECT new com.nvd.expensetracker.dto.ExpenseResponse(e.id, e.description, e.amount, e.date, c.name) " +
+                    "FROM Expense e LEFT JOIN e.category c WHERE e.user = :user " +
+                    "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+                    "AND (:startDate IS NULL OR e.date >= :startDate) " +
+                    "AND (:endDate IS NULL OR e.date <= :endDate) " +
+                    "AND (:cursorDate IS NULL OR (e.date, e.id) < (:cursorDate, :cursorId)) " +
+                    "ORDER BY e.date DESC, e.id DESC";
+
+    public static final String SUM_BY_CATEGORY_AND_DATE =
+            "SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user = :user " +
+                    "AND (:categoryId IS NULL OR e.category.id = :categoryId) " +
+                    "AND (:startDate IS NULL OR e.date >= :startDate) " +
+                    "AND (:endDate IS NULL OR e.date <= :endDate)";
+
+    public static final String STATS_BY_CATEGORY =
+            "SELECT new com.nvd.expensetracker.dto.CategoryExpenseStats(c.name, SUM(e.amount)) " +
+                    "FROM Expense e JOIN e.category c WHERE e.user = :user " +
+                    "GROUP BY c.name";
+
+    private static final String MONTH_OF_DATE =
+            "cast(function('to_char', function('date_trunc', 'month', e.date), 'YYYY-MM') as String)";
+
+    public static final String MONTHLY_STATS =
+            "SELECT new com.nvd.expensetracker.dto.MonthlyStats(" + MONTH_OF_DATE + ", SUM(e.amount)) " +
+                    "FROM Expense e WHERE e.user = :user " +
+                    "GROUP BY " + MONTH_OF_DATE + " " +
+                    "ORDER BY " + MONTH_OF_DATE;
+
+    private static final String MONTH_START_OF_DATE =
+            "cast(function('date_trunc', 'month', e.date) as LocalDate)";
+
+    // Raw per-month, per-category aggregate used to rebuild expense_rollup
+    public static final String ROLLUP_BY_USER =
+            "SELECT new com.nvd.expensetracker.model.ExpenseRollup(" +
+                    "e.user.id, " + MONTH_START_OF_DATE + ", e.category.id, SUM(e.amount), COUNT(e)) " +
+                    "FROM Expense e WHERE e.user.id = :userId " +
+                    "GROUP BY e.user.id, " + MONTH_START_OF_DATE + ", e.category.id";
+
+    public static final String DAILY_TOTALS_BY_USER =
+            "SELECT new com.nvd.expensetracker.dto.DailyCategoryTotal(e.date, e.category.id, SUM(e.amount)) " +
+                    "FROM Expense e WHERE e.user.id = :userId " +
+                    "GROUP BY e.date, e.category.id";
+
+    // Flat projection for exports: no managed entities pile up in the persistence context
+    public static final String EXPORT_ROWS_BY_USER =
+            "SELECT new com.nvd.expensetracker.dto.ExpenseExportRow(e.id, e.amount, e.description, e.date, c.name) " +
+                    "FROM Expense e LEFT JOIN e.category c WHERE e.user = :user " +
+                    "ORDER BY e.date, e.id";
 }
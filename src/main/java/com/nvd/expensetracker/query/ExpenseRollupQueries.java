@@ -0,0 +1,44 @@
+package com.nvd.expensetracker.query;
+
+public class ExpenseRollupQueries {
+    public static final String UPSERT_DELTA =
+            "INSERT INTO expense_rollup (user_id, month, category_id, total, count) " +
+                    "VALUES (:userId, :month, :categoryId, :total, :count) " +
+                    "ON CONFLICT (user_id, month, category_id) DO UPDATE " +
+                    "SET total = expense_rollup.total + EXCLUDED.total, " +
+                    "count = expense_rollup.count + EXCLUDED.count";
+
+    // Standard MERGE for databases without ON CONFLICT (H2); not used on PostgreSQL,
+    // where a concurrent insert of the same cell would make MERGE fail
+    public static final String MERGE_DELTA =
+            "MERGE INTO expense_rollup r " +
+                    "USING (SELECT CAST(:userId AS BIGINT) AS user_id, CAST(:month AS DATE) AS month, " +
+                    "CAST(:categoryId AS BIGINT) AS category_id, CAST(:total AS NUMERIC(38, 2)) AS total, " +
+                    "CAST(:count AS BIGINT) AS count) d " +
+                    "ON r.user_id = d.user_id AND r.month = d.month AND r.category_id = d.category_id " +
+                    "WHEN MATCHED THEN UPDATE SET total = r.total + d.total, count = r.count + d.count " +
+                    "WHEN NOT MATCHED THEN INSERT (user_id, month, category_id, total, count) " +
+                    "VALUES (d.user_id, d.month, d.category_id, d.total, d.count)";
+
+    // Taken by every rollup write and by reconciliation, so a user's cells are never
+    // rebuilt while one of their writes is in flight
+    public static final String LOCK_USER =
+            "SELECT id FROM users WHERE id = :userId FOR UPDATE";
+
+    public static final String USERS_WITHOUT_ROLLUP =
+            "SELECT DISTINCT e.user.id FROM Expense e " +
+                    "WHERE NOT EXISTS (SELECT r FROM ExpenseRollup r WHERE r.userId = e.user.id)";
+
+    public static final String STATS_BY_CATEGORY =
+            "SELECT new com.nvd.expensetracker.dto.CategoryExpenseStats(c.name, SUM(r.total)) " +
+                    "FROM ExpenseRollup r JOIN Category c ON c.id = r.categoryId " +
+                    "WHERE r.userId = :userId AND r.count > 0 " +
+                    "GROUP BY c.name";
+
+    public static final String MONTHLY_STATS =
+            "SELECT new com.nvd.expensetracker.dto.MonthlyStats(" +
+                    "cast(function('to_char', r.month, 'YYYY-MM') as String), SUM(r.total)) " +
+                    "FROM ExpenseRollup r WHERE r.userId = :userId AND r.count > 0 " +
+                    "GROUP BY r.month " +
+                    "ORDER BY r.month";
+}
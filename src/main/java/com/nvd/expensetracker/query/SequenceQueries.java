@@ -0,0 +1,9 @@
+package com.nvd.expensetracker.query;
+
+public class SequenceQueries {
+    // %1$s sequence, %2$s table, %3$d allocation size; PostgreSQL only
+    public static final String ALIGN_SEQUENCE =
+            "SELECT setval('%1$s', t.next_block) " +
+                    "FROM (SELECT COALESCE(MAX(id), 0) + %3$d AS next_block FROM %2$s) t " +
+                    "WHERE t.next_block > (SELECT last_value FROM %1$s)";
+}
@@ -1,12 +1,21 @@
 package com.nvd.expensetracker.repository;
 
+import com.nvd.expensetracker.dto.BudgetResponse;
 import com.nvd.expensetracker.model.Budget;
-import com.nvd.expensetracker.model.Expense;
 import com.nvd.expensetracker.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
+import static com.nvd.expensetracker.query.BudgetQueries.VIEWS_BY_USER;
+
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUser(User user);
+
+    @Query(VIEWS_BY_USER)
+    List<BudgetResponse> findViewsByUser(@Param("user") User user);
 }
@@ -3,5 +3,8 @@ package com.nvd.expensetracker.repository;
 import com.nvd.expensetracker.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    Optional<Category> findFirstByNameOrderByIdAsc(String name);
 }
@@ -1,15 +1,34 @@
 package com.nvd.expensetracker.repository;
 
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.dto.ExpenseResponse;
+import com.nvd.expensetracker.dto.MonthlyStats;
 import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
 import com.nvd.expensetracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static com.nvd.expensetracker.query.ExpenseQueries.DAILY_TOTALS_BY_USER;
+import static com.nvd.expensetracker.query.ExpenseQueries.EXPORT_ROWS_BY_USER;
 import static com.nvd.expensetracker.query.ExpenseQueries.FILTER_BY_CATEGORY_AND_DATE;
+import static com.nvd.expensetracker.query.ExpenseQueries.MONTHLY_STATS;
+import static com.nvd.expensetracker.query.ExpenseQueries.PAGE_BY_CATEGORY_AND_DATE;
+import static com.nvd.expensetracker.query.ExpenseQueries.ROLLUP_BY_USER;
+import static com.nvd.expensetracker.query.ExpenseQueries.STATS_BY_CATEGORY;
+import static com.nvd.expensetracker.query.ExpenseQueries.SUM_BY_CATEGORY_AND_DATE;
 
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
@@ -22,4 +41,43 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
-}
\ No newline at end of file
+
+    @Query(PAGE_BY_CATEGORY_AND_DATE)
+    List<ExpenseResponse> findPage(
+            @Param("user") User user,
+            @Param("categoryId") Long categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    @Query(SUM_BY_CATEGORY_AND_DATE)
+    BigDecimal sumByCategoryAndDate(
+            @Param("user") User user,
+            @Param("categoryId") Long categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query(STATS_BY_CATEGORY)
+    List<CategoryExpenseStats> statsByCategory(@Param("user") User user);
+
+    @Query(MONTHLY_STATS)
+    List<MonthlyStats> monthlyStats(@Param("user") User user);
+
+    @Query(ROLLUP_BY_USER)
+    List<ExpenseRollup> rollupByUser(@Param("userId") Long userId);
+
+    @Query(DAILY_TOTALS_BY_USER)
+    List<DailyCategoryTotal> dailyTotalsByUser(@Param("userId") Long userId);
+
+    /**
+     * Cursor-backed stream; must be consumed and closed inside a transaction so the
+     * driver honours the fetch size instead of buffering the whole result.
+     */
+    @Query(EXPORT_ROWS_BY_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ExpenseExportRow> streamExportRows(@Param("user") User user);
+}
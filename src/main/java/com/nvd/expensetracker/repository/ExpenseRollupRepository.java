@@ -0,0 +1,34 @@
+package com.nvd.expensetracker.repository;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.ExpenseRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.LOCK_USER;
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.MONTHLY_STATS;
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.STATS_BY_CATEGORY;
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.USERS_WITHOUT_ROLLUP;
+
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, ExpenseRollupId>, ExpenseRollupUpsert {
+    List<ExpenseRollup> findByUserId(Long userId);
+
+    /** Locks the user's row until the end of the transaction. */
+    @Query(value = LOCK_USER, nativeQuery = true)
+    Long lockUser(@Param("userId") Long userId);
+
+    /** Users who have expenses but no rollup cells yet, e.g. data from before rollups existed. */
+    @Query(USERS_WITHOUT_ROLLUP)
+    List<Long> findUserIdsWithoutRollups();
+
+    @Query(STATS_BY_CATEGORY)
+    List<CategoryExpenseStats> statsByCategory(@Param("userId") Long userId);
+
+    @Query(MONTHLY_STATS)
+    List<MonthlyStats> monthlyStats(@Param("userId") Long userId);
+}
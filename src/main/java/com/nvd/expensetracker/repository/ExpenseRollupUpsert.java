@@ -0,0 +1,13 @@
+package com.nvd.expensetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ExpenseRollupUpsert {
+
+    /**
+     * Adds {@code total} and {@code count} to the (user, month, category) cell,
+     * creating it if it does not exist yet.
+     */
+    void applyDelta(Long userId, LocalDate month, Long categoryId, BigDecimal total, long count);
+}
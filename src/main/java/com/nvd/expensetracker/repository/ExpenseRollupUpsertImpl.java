@@ -0,0 +1,48 @@
+package com.nvd.expensetracker.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.MERGE_DELTA;
+import static com.nvd.expensetracker.query.ExpenseRollupQueries.UPSERT_DELTA;
+
+/**
+ * Runs the rollup upsert as {@code INSERT ... ON CONFLICT} on PostgreSQL and as a
+ * standard {@code MERGE} elsewhere, so the write path also works on H2.
+ */
+class ExpenseRollupUpsertImpl implements ExpenseRollupUpsert {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String statement;
+
+    @Override
+    public void applyDelta(Long userId, LocalDate month, Long categoryId, BigDecimal total, long count) {
+        entityManager.createNativeQuery(statement())
+                .setParameter("userId", userId)
+                .setParameter("month", month)
+                .setParameter("categoryId", categoryId)
+                .setParameter("total", total)
+                .setParameter("count", count)
+                .executeUpdate();
+    }
+
+    private String statement() {
+        String sql = statement;
+        if (sql == null) {
+            boolean postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+            sql = postgres ? UPSERT_DELTA : MERGE_DELTA;
+            statement = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.BudgetRequest;
+import com.nvd.expensetracker.dto.BudgetResponse;
+import com.nvd.expensetracker.exception.ResourceNotFoundException;
+import com.nvd.expensetracker.model.Budget;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final BudgetRepository budgetRepo;
+    private final CategoryRegistry categoryRegistry;
+
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getBudgets(User user) {
+        return budgetRepo.findViewsByUser(user);
+    }
+
+    /**
+     * Sets the user's budget for each category in one transaction: an existing budget
+     * for the category is updated, otherwise one is created. Inserts and updates are
+     * sent as JDBC batches at commit.
+     */
+    @Transactional
+    public List<Budget> upsertBudgets(List<BudgetRequest> requests, User user) {
+        Map<Long, Category> categories = categoryRegistry.findAll(
+                requests.stream().map(BudgetRequest::getCategoryId).distinct().toList());
+
+        Map<Long, Budget> byCategory = new HashMap<>();
+        for (Budget budget : budgetRepo.findByUser(user)) {
+            byCategory.putIfAbsent(budget.getCategory().getId(), budget);
+        }
+
+        List<Budget> saved = new ArrayList<>(requests.size());
+        for (BudgetRequest request : requests) {
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                throw new ResourceNotFoundException("Category not found: " + request.getCategoryId());
+            }
+            Budget budget = byCategory.get(category.getId());
+            if (budget == null) {
+                budget = budgetRepo.save(Budget.builder()
+                        .amount(request.getAmount())
+                        .category(category)
+                        .user(user)
+                        .build());
+                byCategory.put(category.getId(), budget);
+            } else {
+                // Same id, so no update; the registry's copy has the name loaded
+                budget.setCategory(category);
+                budget.setAmount(request.getAmount());
+            }
+            saved.add(budget);
+        }
+        budgetRepo.flush();
+        return saved;
+    }
+}
@@ -0,0 +1,131 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.CategoryResponse;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process copy of the categories, which are global and rarely change: id → name
+ * lookups on sorted primitive arrays and the full list as an immutable snapshot, so
+ * resolving a category costs no query once loaded.
+ * <p>
+ * The snapshot is loaded on first use and reloaded after {@link #invalidate()}, which
+ * {@code CategoryController} calls on every change. Other nodes pick changes up on the
+ * periodic refresh; until then an unknown id is looked up in the database, and a
+ * category deleted elsewhere is still resolved. Writes referencing it flush before
+ * returning, and {@code GlobalExceptionHandler} reports the failed foreign key as not
+ * found and invalidates the snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private record Snapshot(long[] ids, String[] names, List<CategoryResponse> list) {
+
+        static Snapshot of(List<Category> categories) {
+            long[] ids = new long[categories.size()];
+            String[] names = new String[categories.size()];
+            List<CategoryResponse> list = new ArrayList<>(categories.size());
+            for (int i = 0; i < categories.size(); i++) {
+                Category category = categories.get(i);
+                ids[i] = category.getId();
+                names[i] = category.getName();
+                list.add(CategoryResponse.builder().id(category.getId()).name(category.getName()).build());
+            }
+            return new Snapshot(ids, names, List.copyOf(list));
+        }
+
+        String name(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? names[index] : null;
+        }
+    }
+
+    private final CategoryRepository categoryRepo;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /** All categories ordered by id. */
+    public List<CategoryResponse> list() {
+        return snapshot().list();
+    }
+
+    /**
+     * Resolves a category for use as an association. The returned instance is detached
+     * and carries only id and name.
+     */
+    public Optional<Category> find(long id) {
+        String name = snapshot().name(id);
+        if (name != null) {
+            return Optional.of(new Category(id, name));
+        }
+        Optional<Category> category = categoryRepo.findById(id);
+        category.ifPresent(c -> invalidate());
+        return category;
+    }
+
+    /** Like {@link #find(long)} for many ids, with at most one query for ids not in the snapshot. */
+    public Map<Long, Category> findAll(Collection<Long> ids) {
+        Snapshot current = snapshot();
+        Map<Long, Category> categories = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            String name = current.name(id);
+            if (name != null) {
+                categories.put(id, new Category(id, name));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Category> loaded = categoryRepo.findAllById(missing);
+            if (!loaded.isEmpty()) {
+                loaded.forEach(c -> categories.put(c.getId(), c));
+                invalidate();
+            }
+        }
+        return categories;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    @Scheduled(fixedDelayString = "${expense.categories.refresh-interval:PT5M}")
+    public void refresh() {
+        invalidate();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long loadedAt = generation.get();
+        Snapshot loaded = Snapshot.of(categoryRepo.findAll(Sort.by("id")));
+        // A change committed while loading may be missing from this result: use it once, keep none
+        if (generation.get() == loadedAt) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+}
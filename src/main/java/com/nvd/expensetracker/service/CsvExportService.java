@@ -1,24 +1,85 @@
 package com.nvd.expensetracker.service;
 
-import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.profiling.ExpenseExportEvent;
+import com.nvd.expensetracker.tracing.RequestTrace;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.PrintWriter;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Service
 public class CsvExportService {
 
-    public void writeExpensesToCsv(List<Expense> expenses, PrintWriter writer) {
-        writer.println("ID,Amount,Description,Date,Category");
-        for (Expense expense : expenses) {
-            writer.printf("%d,%.2f,%s,%s,%s%n",
-                    expense.getId(),
-                    expense.getAmount(),
-                    expense.getDescription().replace(",", ""),
-                    expense.getDate(),
-                    expense.getCategory().getName()
-            );
+    private static final char BOM = '\uFEFF';
+
+    private final ExpenseRepository expenseRepo;
+    private final int flushRows;
+
+    public CsvExportService(
+            ExpenseRepository expenseRepo,
+            @Value("${expense.export.csv.flush-rows:1000}") int flushRows) {
+        this.expenseRepo = expenseRepo;
+        this.flushRows = flushRows;
+    }
+
+    /**
+     * Streams the user's expenses as UTF-8 CSV (with BOM so Excel detects the encoding),
+     * flushing every {@code flushRows} rows. Memory use does not depend on the row count.
+     *
+     * @return number of data rows written
+     */
+    @Timed(value = "expense.export", extraTags = {"format", "csv"}, description = "Full export of a user's expenses")
+    @Transactional(readOnly = true)
+    public long writeExpensesToCsv(User user, OutputStream out) throws IOException {
+        ExpenseExportEvent event = new ExpenseExportEvent();
+        event.begin();
+        int span = RequestTrace.start("export.csv");
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long count = 0;
+        try {
+            Writer writer = new OutputStreamWriter(counted, StandardCharsets.UTF_8);
+            writer.write(BOM);
+            CsvWriter csv = new CsvWriter(writer);
+            csv.row("ID", "Amount", "Description", "Date", "Category");
+
+            try (Stream<ExpenseExportRow> rows = expenseRepo.streamExportRows(user)) {
+                Iterator<ExpenseExportRow> it = rows.iterator();
+                while (it.hasNext()) {
+                    writeRow(csv, it.next());
+                    if (++count % flushRows == 0) {
+                        csv.flush();
+                    }
+                }
+            }
+            csv.flush();
+            return count;
+        } finally {
+            RequestTrace.finish(span);
+            event.userId = user.getId();
+            event.format = "csv";
+            event.rows = count;
+            event.bytes = counted.count();
+            event.commit();
         }
     }
+
+    static void writeRow(CsvWriter csv, ExpenseExportRow row) throws IOException {
+        csv.field(row.id())
+                .field(row.amount(), 2)
+                .field(row.description())
+                .field(row.date())
+                .field(row.category())
+                .endRow();
+    }
 }
@@ -0,0 +1,246 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ImportReport;
+import com.nvd.expensetracker.dto.ImportRowError;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.ExpenseRollupId;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.nvd.expensetracker.query.ExpenseImportQueries.COPY_EXPENSES;
+import static com.nvd.expensetracker.query.ExpenseImportQueries.INSERT_EXPENSE;
+
+/**
+ * Bulk-loads expenses from CSV in the layout written by {@link CsvExportService}
+ * (ID, Amount, Description, Date, Category; the ID column is ignored).
+ * <p>
+ * The upload is parsed as a stream; valid rows are written in chunks with
+ * PostgreSQL {@code COPY} (plain JDBC batches on other databases) inside one
+ * transaction, and invalid rows are skipped and reported by line number.
+ */
+@Service
+public class CsvImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_DESCRIPTION_LENGTH = 255;
+    /** expense.amount is numeric(38,2): 36 digits before the decimal point. */
+    static final int MAX_AMOUNT_INTEGER_DIGITS = 36;
+    /** Distinct unknown category names looked up per import; further ones are rejected without a query. */
+    static final int MAX_UNKNOWN_CATEGORIES = 100;
+    private static final int COLUMNS = 5;
+
+    private final CategoryRepository categoryRepo;
+    private final ExpenseRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public CsvImportService(
+            CategoryRepository categoryRepo,
+            ExpenseRollupService rollupService,
+            ApplicationEventPublisher eventPublisher,
+            DataSource dataSource,
+            EntityManager entityManager,
+            @Value("${expense.import.chunk-size:5000}") int chunkSize) {
+        this.categoryRepo = categoryRepo;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.dataSource = dataSource;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    private record Row(long categoryId, BigDecimal amount, LocalDate date, String description) {}
+
+    @Transactional
+    public ImportReport importCsv(User user, InputStream in) throws IOException, SQLException {
+        CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        // Same connection as the surrounding JPA transaction
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyManager copyManager = connection.isWrapperFor(PGConnection.class)
+                ? connection.unwrap(PGConnection.class).getCopyAPI()
+                : null;
+
+        Map<String, Long> categoryIds = new HashMap<>();
+        Set<String> unknownCategories = new HashSet<>();
+        Map<ExpenseRollupId, ExpenseRollup> rollups = new HashMap<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        List<String> record = reader.readRecord();
+        if (record != null && "ID".equalsIgnoreCase(record.get(0).trim())) {
+            record = reader.readRecord();
+        }
+        for (; record != null; record = reader.readRecord()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowsRead++;
+            Row row;
+            try {
+                row = parse(record, categoryIds, unknownCategories);
+            } catch (IllegalArgumentException ex) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportRowError(reader.recordLine(), ex.getMessage()));
+                }
+                continue;
+            }
+
+            chunk.add(row);
+            ExpenseRollupService.accumulate(rollups, user.getId(), row.date(), row.categoryId(), row.amount(), 1);
+            if (chunk.size() == chunkSize) {
+                imported += write(connection, copyManager, user.getId(), chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += write(connection, copyManager, user.getId(), chunk);
+        }
+
+        if (imported > 0) {
+            rollupService.addAll(rollups.values());
+            eventPublisher.publishEvent(ExpenseChangedEvent.bulk(user.getId()));
+        }
+
+        return ImportReport.builder()
+                .rowsRead(rowsRead)
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .errorsTruncated(rejected > errors.size())
+                .build();
+    }
+
+    private Row parse(List<String> record, Map<String, Long> categoryIds, Set<String> unknownCategories) {
+        if (record.size() != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns but found " + record.size());
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(record.get(1).trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid amount: " + record.get(1));
+        }
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+        // Checked before any rescaling: an exponent like 1E+999999999 must not be expanded
+        if (amount.precision() - amount.scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("Amount must have at most " + MAX_AMOUNT_INTEGER_DIGITS + " integer digits");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Amount must have at most 2 decimal places");
+        }
+
+        String description = record.get(2);
+        if (description.isBlank()) {
+            throw new IllegalArgumentException("Description is required");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(record.get(3).trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date, expected yyyy-MM-dd: " + record.get(3));
+        }
+
+        String categoryName = record.get(4).trim();
+        Long categoryId = categoryIds.get(categoryName);
+        if (categoryId == null) {
+            if (unknownCategories.contains(categoryName) || unknownCategories.size() >= MAX_UNKNOWN_CATEGORIES) {
+                throw new IllegalArgumentException("Unknown category: " + categoryName);
+            }
+            categoryId = categoryRepo.findFirstByNameOrderByIdAsc(categoryName).map(Category::getId).orElse(null);
+            if (categoryId == null) {
+                unknownCategories.add(categoryName);
+                throw new IllegalArgumentException("Unknown category: " + categoryName);
+            }
+            categoryIds.put(categoryName, categoryId);
+        }
+
+        return new Row(categoryId, amount, date, description);
+    }
+
+    private long write(Connection connection, CopyManager copyManager, Long userId, List<Row> rows)
+            throws IOException, SQLException {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        if (copyManager != null) {
+            StringWriter buffer = new StringWriter(rows.size() * 64);
+            CsvWriter csv = new CsvWriter(buffer);
+            for (Row row : rows) {
+                csv.field(nextId(session))
+                        .field(userId)
+                        .field(row.categoryId())
+                        .field(row.amount(), 2)
+                        .field(row.date())
+                        .field(row.description())
+                        .endRow();
+            }
+            csv.flush();
+            return copyManager.copyIn(COPY_EXPENSES, new StringReader(buffer.toString()));
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_EXPENSE)) {
+            for (Row row : rows) {
+                statement.setLong(1, nextId(session));
+                statement.setLong(2, userId);
+                statement.setLong(3, row.categoryId());
+                statement.setBigDecimal(4, row.amount());
+                statement.setDate(5, Date.valueOf(row.date()));
+                statement.setString(6, row.description());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return rows.size();
+    }
+
+    // Ids come from Expense's pooled sequence generator, shared with JPA inserts
+    private long nextId(SharedSessionContractImplementor session) {
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Expense.class).getGenerator();
+        return ((Number) generator.generate(session, null)).longValue();
+    }
+}
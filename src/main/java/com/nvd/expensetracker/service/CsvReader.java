@@ -0,0 +1,118 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader, the counterpart of {@link CsvWriter}: quoted fields may
+ * contain commas, doubled quotes and line breaks; records end with CRLF or LF.
+ * A leading byte order mark is skipped.
+ */
+public final class CsvReader {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int pos;
+    private int limit;
+    private int pushback = -2;
+    private boolean started;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Next record, or null at end of input.
+     *
+     * @throws BadRequestException if a quoted field is never closed
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new BadRequestException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    pushback = next;
+                }
+                break;
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /** Line number on which the last returned record started, 1-based. */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+            return c;
+        }
+        if (pos == limit) {
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        c = buf[pos++];
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                return read();
+            }
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
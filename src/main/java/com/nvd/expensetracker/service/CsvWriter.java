@@ -0,0 +1,197 @@
+package com.nvd.expensetracker.service;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Minimal RFC 4180 writer: comma separated, CRLF row endings, and fields containing
+ * a comma, quote or line break wrapped in quotes with embedded quotes doubled.
+ * <p>
+ * Characters are staged in a reusable buffer and handed to the underlying writer
+ * in bulk, so numbers and dates are written without intermediate strings.
+ */
+public final class CsvWriter implements Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    private final Writer out;
+    private final char[] buf;
+    private final char[] digits = new char[20];
+    private int pos;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvWriter(Writer out, int bufferSize) {
+        this.out = out;
+        this.buf = new char[bufferSize];
+    }
+
+    public CsvWriter field(CharSequence value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (!needsQuoting(value)) {
+            for (int i = 0; i < value.length(); i++) {
+                put(value.charAt(i));
+            }
+            return this;
+        }
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+        return this;
+    }
+
+    public CsvWriter field(Long value) throws IOException {
+        separator();
+        if (value != null) {
+            putLong(value);
+        }
+        return this;
+    }
+
+    public CsvWriter field(BigDecimal value, int scale) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        BigDecimal scaled = value.setScale(scale, RoundingMode.HALF_UP);
+        if (scaled.precision() > 18) {
+            String text = scaled.toPlainString();
+            for (int i = 0; i < text.length(); i++) {
+                put(text.charAt(i));
+            }
+            return this;
+        }
+        long unscaled = scaled.unscaledValue().longValue();
+        if (unscaled < 0) {
+            put('-');
+            unscaled = -unscaled;
+        }
+        long pow = 1;
+        for (int i = 0; i < scale; i++) {
+            pow *= 10;
+        }
+        putLong(unscaled / pow);
+        if (scale > 0) {
+            put('.');
+            putPadded(unscaled % pow, scale);
+        }
+        return this;
+    }
+
+    public CsvWriter field(LocalDate value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            field(value.toString());
+            return this;
+        }
+        putPadded(year, 4);
+        put('-');
+        putPadded(value.getMonthValue(), 2);
+        put('-');
+        putPadded(value.getDayOfMonth(), 2);
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        put('\r');
+        put('\n');
+        firstField = true;
+    }
+
+    public void row(String... values) throws IOException {
+        for (String value : values) {
+            field(value);
+        }
+        endRow();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (!firstField) {
+            put(',');
+        }
+        firstField = false;
+    }
+
+    private static boolean needsQuoting(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            String text = Long.toString(value);
+            for (int i = 0; i < text.length(); i++) {
+                put(text.charAt(i));
+            }
+            return;
+        }
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int n = digits.length;
+        do {
+            digits[--n] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (n < digits.length) {
+            put(digits[n++]);
+        }
+    }
+
+    private void putPadded(long value, int width) throws IOException {
+        int n = digits.length;
+        for (int i = 0; i < width || value != 0; i++) {
+            digits[--n] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        while (n < digits.length) {
+            put(digits[n++]);
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (pos == buf.length) {
+            drain();
+        }
+        buf[pos++] = c;
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fenwick trees over epoch-day buckets holding one user's amounts in minor units:
+ * one for all categories and one per category. Range totals and point updates
+ * are O(log days).
+ */
+public class DateRangeSumIndex {
+
+    // Room for writes slightly outside the loaded date range before a reload is needed
+    static final int HEADROOM_DAYS = 366;
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private final long firstDay;
+    private final int days;
+    private final long[] totals;
+    private final Map<Long, long[]> byCategory = new HashMap<>();
+
+    private DateRangeSumIndex(long firstDay, int days) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.totals = new long[days + 1];
+    }
+
+    /**
+     * Returns null when the dates (and today) span more than {@code maxDays} days, which
+     * would make every tree that long, or when an amount cannot be represented in minor units.
+     */
+    public static DateRangeSumIndex build(List<DailyCategoryTotal> rows, LocalDate today, int maxDays) {
+        long min = today.toEpochDay();
+        long max = min;
+        for (DailyCategoryTotal row : rows) {
+            min = Math.min(min, row.date().toEpochDay());
+            max = Math.max(max, row.date().toEpochDay());
+        }
+        if (max - min + 1 > maxDays) {
+            return null;
+        }
+
+        DateRangeSumIndex index = new DateRangeSumIndex(min - HEADROOM_DAYS,
+                (int) (max - min + 1 + 2L * HEADROOM_DAYS));
+        for (DailyCategoryTotal row : rows) {
+            if (!index.add(row.date(), row.categoryId(), row.total())) {
+                return null;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds a (possibly negative) amount. Returns false when the date is outside the
+     * indexed range or the amount has sub-minor-unit precision; the index must then
+     * be discarded.
+     */
+    public synchronized boolean add(LocalDate date, Long categoryId, BigDecimal amount) {
+        long position = positionOf(date);
+        if (position < 1 || position > days) {
+            return false;
+        }
+        long minor;
+        try {
+            minor = amount.movePointRight(MINOR_UNIT_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        update(totals, (int) position, minor);
+        update(byCategory.computeIfAbsent(categoryId, id -> new long[days + 1]), (int) position, minor);
+        return true;
+    }
+
+    /**
+     * Sum of amounts between {@code start} and {@code end} inclusive; null bounds are open.
+     * A null category sums across all categories.
+     */
+    public synchronized BigDecimal sum(Long categoryId, LocalDate start, LocalDate end) {
+        long[] tree = categoryId == null ? totals : byCategory.get(categoryId);
+        if (tree == null) {
+            return BigDecimal.ZERO.setScale(MINOR_UNIT_SCALE);
+        }
+        long from = start == null ? 1 : Math.max(1, positionOf(start));
+        long to = end == null ? days : Math.min(days, positionOf(end));
+        long minor = from > to ? 0 : prefix(tree, (int) to) - prefix(tree, (int) from - 1);
+        return BigDecimal.valueOf(minor, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Approximate heap footprint in bytes, capped at {@link Integer#MAX_VALUE}.
+     */
+    public synchronized int weight() {
+        long bytes = (byCategory.size() + 1L) * (days + 1L) * Long.BYTES;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private long positionOf(LocalDate date) {
+        return date.toEpochDay() - firstDay + 1;
+    }
+
+    private static void update(long[] tree, int position, long delta) {
+        for (int i = position; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static long prefix(long[] tree, int position) {
+        long sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -1,44 +1,112 @@
 package com.nvd.expensetracker.service;
 
-import com.nvd.expensetracker.model.Expense;
-import org.apache.poi.ss.usermodel.Cell;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.profiling.ExpenseExportEvent;
+import com.nvd.expensetracker.tracing.RequestTrace;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import io.micrometer.core.annotation.Timed;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Service
 public class ExcelExportService {
 
-    public void writeExpensesToExcel(List<Expense> expenses, OutputStream out) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Expenses");
+    private static final String[] COLUMNS = { "ID", "Amount", "Description", "Date", "Category" };
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
 
-        // Header row
-        Row header = sheet.createRow(0);
-        String[] columns = { "ID", "Amount", "Description", "Date", "Category" };
-        for (int i = 0; i < columns.length; i++) {
-            Cell cell = header.createCell(i);
-            cell.setCellValue(columns[i]);
+    private final ExpenseRepository expenseRepo;
+    private final int rowAccessWindow;
+    private final boolean compressTempFiles;
+
+    public ExcelExportService(
+            ExpenseRepository expenseRepo,
+            @Value("${expense.export.excel.row-access-window:100}") int rowAccessWindow,
+            @Value("${expense.export.excel.compress-temp-files:true}") boolean compressTempFiles) {
+        this.expenseRepo = expenseRepo;
+        this.rowAccessWindow = rowAccessWindow;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    @Timed(value = "expense.export", extraTags = {"format", "xlsx"}, description = "Full export of a user's expenses")
+    @Transactional(readOnly = true)
+    public long writeExpensesToExcel(User user, OutputStream out) throws IOException {
+        ExpenseExportEvent event = new ExpenseExportEvent();
+        event.begin();
+        int span = RequestTrace.start("export.xlsx");
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long count = 0;
+        try (Stream<ExpenseExportRow> rows = expenseRepo.streamExportRows(user)) {
+            count = writeRows(rows.iterator(), counted);
+            return count;
+        } finally {
+            RequestTrace.finish(span);
+            event.userId = user.getId();
+            event.format = "xlsx";
+            event.rows = count;
+            event.bytes = counted.count();
+            event.commit();
         }
+    }
 
-        // Data row
-        int rowNum = 1;
-        for (Expense exp : expenses) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(exp.getId());
-            row.createCell(1).setCellValue(exp.getAmount().doubleValue());
-            row.createCell(2).setCellValue(exp.getDescription());
-            row.createCell(3).setCellValue(exp.getDate().toString());
-            row.createCell(4).setCellValue(exp.getCategory().getName());
+    /**
+     * Writes rows with SXSSF: only {@code rowAccessWindow} rows stay on the heap, older
+     * ones are flushed to a (gzip-compressed) temp file which is always deleted, also
+     * when the client disconnects mid-download. Rows beyond Excel's per-sheet limit
+     * continue on a new sheet.
+     *
+     * @return number of data rows written
+     */
+    public long writeRows(Iterator<ExpenseExportRow> rows, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindow);
+        workbook.setCompressTempFiles(compressTempFiles);
+        try {
+            Sheet sheet = newSheet(workbook);
+            int rowNum = 1;
+            long count = 0;
+            while (rows.hasNext()) {
+                if (rowNum == MAX_ROWS_PER_SHEET) {
+                    sheet = newSheet(workbook);
+                    rowNum = 1;
+                }
+                ExpenseExportRow exp = rows.next();
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(exp.id());
+                if (exp.amount() != null) {
+                    row.createCell(1).setCellValue(exp.amount().doubleValue());
+                }
+                row.createCell(2).setCellValue(exp.description());
+                if (exp.date() != null) {
+                    row.createCell(3).setCellValue(exp.date().toString());
+                }
+                row.createCell(4).setCellValue(exp.category());
+                count++;
+            }
+            workbook.write(out);
+            return count;
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
+    }
 
-        workbook.write(out);
-        workbook.close();
+    private Sheet newSheet(SXSSFWorkbook workbook) {
+        int index = workbook.getNumberOfSheets();
+        Sheet sheet = workbook.createSheet(index == 0 ? "Expenses" : "Expenses (" + (index + 1) + ")");
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            header.createCell(i).setCellValue(COLUMNS[i]);
+        }
+        return sheet;
     }
 }
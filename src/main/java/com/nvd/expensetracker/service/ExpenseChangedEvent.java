@@ -0,0 +1,36 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a user's expenses.
+ * {@code removed} and {@code added} describe the change; both are null when the
+ * change is not known row by row and listeners must drop what they derived.
+ */
+public record ExpenseChangedEvent(Long userId, Entry removed, Entry added) {
+
+    public record Entry(LocalDate date, Long categoryId, BigDecimal amount) {
+        public static Entry of(Expense expense) {
+            return new Entry(expense.getDate(), expense.getCategory().getId(), expense.getAmount());
+        }
+    }
+
+    public static ExpenseChangedEvent created(Expense expense) {
+        return new ExpenseChangedEvent(expense.getUser().getId(), null, Entry.of(expense));
+    }
+
+    public static ExpenseChangedEvent updated(Long userId, Entry before, Expense after) {
+        return new ExpenseChangedEvent(userId, before, Entry.of(after));
+    }
+
+    public static ExpenseChangedEvent deleted(Expense expense) {
+        return new ExpenseChangedEvent(expense.getUser().getId(), Entry.of(expense), null);
+    }
+
+    public static ExpenseChangedEvent bulk(Long userId) {
+        return new ExpenseChangedEvent(userId, null, null);
+    }
+}
@@ -0,0 +1,151 @@
+package com.nvd.expensetracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional in-memory {@link DateRangeSumIndex} per user, loaded on first use,
+ * updated after each committed expense change and held through soft references
+ * so the GC can reclaim it under memory pressure. Users whose expenses span more
+ * than {@code expense.range-index.max-days} are not indexed: that is remembered for
+ * {@code expire-after-access}, and until then their totals go straight to SQL.
+ * <p>
+ * A load only publishes its index if no expense write for users in the same
+ * stripe was committing while it ran; otherwise the snapshot may miss, or later
+ * double-apply, that write. No load starts while such a write is committing, and
+ * one overtaken by a write still answers its own request.
+ */
+@Component
+public class ExpenseRangeIndex {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_UNINDEXED_USERS = 100_000;
+
+    private final ExpenseRepository expenseRepo;
+    private final boolean enabled;
+    private final int maxDays;
+    private final Cache<Long, DateRangeSumIndex> indexes;
+    private final Cache<Long, Boolean> unindexed;
+    private final AtomicIntegerArray committing = new AtomicIntegerArray(STRIPES);
+    private final AtomicLongArray completed = new AtomicLongArray(STRIPES);
+
+    public ExpenseRangeIndex(
+            ExpenseRepository expenseRepo,
+            @Value("${expense.range-index.enabled:false}") boolean enabled,
+            @Value("${expense.range-index.max-days:36600}") int maxDays,
+            @Value("${expense.range-index.maximum-weight-bytes:268435456}") long maximumWeightBytes,
+            @Value("${expense.range-index.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.expenseRepo = expenseRepo;
+        this.enabled = enabled;
+        this.maxDays = maxDays;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .<Long, DateRangeSumIndex>weigher((userId, index) -> index.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .softValues()
+                .build();
+        // Not cleared on writes, so a long history is scanned at most once per expiry
+        this.unindexed = Caffeine.newBuilder()
+                .maximumSize(MAX_UNINDEXED_USERS)
+                .expireAfterWrite(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Range total from the index, or empty when the index is disabled or cannot
+     * represent this user's data and the caller should query the database.
+     */
+    public Optional<BigDecimal> sum(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        DateRangeSumIndex index = indexFor(userId);
+        return index == null ? Optional.empty() : Optional.of(index.sum(categoryId, startDate, endDate));
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        int stripe = stripeOf(event.userId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet(stripe);
+                counted = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                // Applied inside the compute so Caffeine re-weighs the entry if a category tree was added
+                indexes.asMap().computeIfPresent(event.userId(), (id, index) -> apply(index, event) ? index : null);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counted) {
+                    completed.incrementAndGet(stripe);
+                    committing.decrementAndGet(stripe);
+                }
+            }
+        });
+    }
+
+    private DateRangeSumIndex indexFor(Long userId) {
+        DateRangeSumIndex index = indexes.getIfPresent(userId);
+        if (index != null || unindexed.getIfPresent(userId) != null) {
+            return index;
+        }
+
+        int stripe = stripeOf(userId);
+        long completedBefore = completed.get(stripe);
+        if (committing.get(stripe) != 0) {
+            // The result could not be published; SQL is cheaper than a throwaway load
+            return null;
+        }
+        DateRangeSumIndex loaded = DateRangeSumIndex.build(expenseRepo.dailyTotalsByUser(userId), LocalDate.now(), maxDays);
+        if (loaded == null) {
+            unindexed.put(userId, Boolean.TRUE);
+            return null;
+        }
+        // Checked under the entry lock, which afterCommit also takes
+        indexes.asMap().compute(userId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            boolean unchanged = committing.get(stripe) == 0 && completed.get(stripe) == completedBefore;
+            return unchanged ? loaded : null;
+        });
+        return loaded;
+    }
+
+    private static boolean apply(DateRangeSumIndex index, ExpenseChangedEvent event) {
+        if (event.removed() == null && event.added() == null) {
+            return false;
+        }
+        ExpenseChangedEvent.Entry removed = event.removed();
+        ExpenseChangedEvent.Entry added = event.added();
+        return (removed == null || index.add(removed.date(), removed.categoryId(), removed.amount().negate()))
+                && (added == null || index.add(added.date(), added.categoryId(), added.amount()));
+    }
+
+    private static int stripeOf(Long userId) {
+        return Long.hashCode(userId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,210 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.logging.LogUtil;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.ExpenseRollupId;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.repository.ExpenseRollupRepository;
+import com.nvd.expensetracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseRollupService {
+
+    private final ExpenseRollupRepository rollupRepo;
+    private final ExpenseRepository expenseRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    public record ReconciliationReport(int usersChecked, int usersWithDrift, int cellsRepaired) {}
+
+    /**
+     * Takes the user's rollup lock for the rest of the transaction. Callers that
+     * derive a delta from an expense's stored values take it before loading the
+     * expense, so concurrent changes to it are applied one after the other, each
+     * from the row the previous one committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockUser(Long userId) {
+        rollupRepo.lockUser(userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Expense expense) {
+        rollupRepo.lockUser(expense.getUser().getId());
+        apply(expense.getUser().getId(), expense.getDate(), expense.getCategory().getId(), expense.getAmount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Expense expense) {
+        rollupRepo.lockUser(expense.getUser().getId());
+        apply(expense.getUser().getId(), expense.getDate(), expense.getCategory().getId(), expense.getAmount().negate(), -1);
+    }
+
+    /**
+     * Moves an expense between rollup cells, or adjusts a single cell in place
+     * when the month and category are unchanged.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(Long userId, LocalDate oldDate, Long oldCategoryId, BigDecimal oldAmount,
+                     LocalDate newDate, Long newCategoryId, BigDecimal newAmount) {
+        rollupRepo.lockUser(userId);
+        if (monthOf(oldDate).equals(monthOf(newDate)) && oldCategoryId.equals(newCategoryId)) {
+            BigDecimal diff = newAmount.subtract(oldAmount);
+            if (diff.signum() != 0) {
+                apply(userId, newDate, newCategoryId, diff, 0);
+            }
+            return;
+        }
+        apply(userId, oldDate, oldCategoryId, oldAmount.negate(), -1);
+        apply(userId, newDate, newCategoryId, newAmount, 1);
+    }
+
+    /**
+     * Applies cells pre-aggregated by the caller, e.g. for a bulk insert, with one
+     * upsert per (month, category) instead of one per expense.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<ExpenseRollup> deltas) {
+        // In id order, so two batches spanning the same users cannot deadlock
+        TreeSet<Long> userIds = new TreeSet<>();
+        deltas.forEach(delta -> userIds.add(delta.getUserId()));
+        userIds.forEach(rollupRepo::lockUser);
+        for (ExpenseRollup delta : deltas) {
+            if (delta.getCount() != 0 || delta.getTotal().signum() != 0) {
+                apply(delta.getUserId(), delta.getMonth(), delta.getCategoryId(), delta.getTotal(), delta.getCount());
+            }
+        }
+    }
+
+    /**
+     * Adds one expense (count 1) or its removal (negated amount, count -1) to a map
+     * of pending cells for {@link #addAll}.
+     */
+    public static void accumulate(Map<ExpenseRollupId, ExpenseRollup> deltas, Long userId, LocalDate date,
+                                  Long categoryId, BigDecimal amount, long count) {
+        ExpenseRollup cell = deltas.computeIfAbsent(new ExpenseRollupId(userId, monthOf(date), categoryId),
+                id -> new ExpenseRollup(id.getUserId(), id.getMonth(), id.getCategoryId(), BigDecimal.ZERO, 0));
+        cell.setTotal(cell.getTotal().add(amount));
+        cell.setCount(cell.getCount() + count);
+    }
+
+    public List<CategoryExpenseStats> getStatsByCategory(Long userId) {
+        return rollupRepo.statsByCategory(userId);
+    }
+
+    public List<MonthlyStats> getMonthlyStats(Long userId) {
+        return rollupRepo.monthlyStats(userId);
+    }
+
+    /**
+     * Builds the cells of users who have expenses but none yet, e.g. existing data
+     * when rollups are first deployed, so the stats endpoints are complete as soon
+     * as the application is ready instead of after the first periodic pass.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> userIds = rollupRepo.findUserIdsWithoutRollups();
+        if (!userIds.isEmpty()) {
+            log.info("Expense rollups backfilled: {}", reconcileUsers(userIds));
+        }
+    }
+
+    /**
+     * Rebuilds every user's rollup cells from raw expense rows, one transaction
+     * per user, and reports the cells that had drifted. Each user's row is locked
+     * first, so their writes wait for the rebuild instead of being overwritten.
+     * This drift check first runs one interval after startup unless an initial
+     * delay is set; missing cells are filled at startup by {@link #backfill()}.
+     */
+    @Scheduled(initialDelayString = "${expense.rollup.reconcile-initial-delay:${expense.rollup.reconcile-interval:PT6H}}",
+            fixedDelayString = "${expense.rollup.reconcile-interval:PT6H}")
+    public ReconciliationReport reconcileAll() {
+        ReconciliationReport report = reconcileUsers(userRepo.findAllIds());
+        if (report.cellsRepaired() > 0) {
+            log.warn("Expense rollup drift repaired: {}", report);
+        }
+        return report;
+    }
+
+    private ReconciliationReport reconcileUsers(List<Long> userIds) {
+        int usersWithDrift = 0;
+        int cellsRepaired = 0;
+        for (Long userId : userIds) {
+            try {
+                Integer repaired = transactionTemplate.execute(status -> reconcile(userId));
+                if (repaired != null && repaired > 0) {
+                    usersWithDrift++;
+                    cellsRepaired += repaired;
+                }
+            } catch (RuntimeException e) {
+                LogUtil.logError("Rollup reconciliation failed for user " + userId, e);
+            }
+        }
+        return new ReconciliationReport(userIds.size(), usersWithDrift, cellsRepaired);
+    }
+
+    int reconcile(Long userId) {
+        rollupRepo.lockUser(userId);
+        Map<ExpenseRollupId, ExpenseRollup> stored = new HashMap<>();
+        for (ExpenseRollup rollup : rollupRepo.findByUserId(userId)) {
+            stored.put(idOf(rollup), rollup);
+        }
+
+        int repaired = 0;
+        for (ExpenseRollup expected : expenseRepo.rollupByUser(userId)) {
+            ExpenseRollup actual = stored.remove(idOf(expected));
+            if (actual == null) {
+                rollupRepo.save(expected);
+                repaired++;
+            } else if (actual.getCount() != expected.getCount()
+                    || actual.getTotal().compareTo(expected.getTotal()) != 0) {
+                actual.setTotal(expected.getTotal());
+                actual.setCount(expected.getCount());
+                repaired++;
+            }
+        }
+
+        // Cells with no raw rows left behind
+        for (ExpenseRollup orphan : stored.values()) {
+            if (orphan.getCount() != 0 || orphan.getTotal().signum() != 0) {
+                repaired++;
+            }
+            rollupRepo.delete(orphan);
+        }
+        return repaired;
+    }
+
+    private void apply(Long userId, LocalDate date, Long categoryId, BigDecimal total, long count) {
+        rollupRepo.applyDelta(userId, monthOf(date), categoryId, total, count);
+    }
+
+    private static LocalDate monthOf(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    private static ExpenseRollupId idOf(ExpenseRollup rollup) {
+        return new ExpenseRollupId(rollup.getUserId(), rollup.getMonth(), rollup.getCategoryId());
+    }
+}
@@ -1,79 +1,95 @@
 package com.nvd.expensetracker.service;
 
+import com.nvd.expensetracker.dto.CursorPage;
+import com.nvd.expensetracker.dto.ExpenseBatchItem;
+import com.nvd.expensetracker.dto.ExpenseCursor;
 import com.nvd.expensetracker.dto.ExpenseRequest;
+import com.nvd.expensetracker.dto.ExpenseResponse;
 import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.exception.AccessDeniedException;
+import com.nvd.expensetracker.exception.ResourceNotFoundException;
 import com.nvd.expensetracker.model.Category;
 import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.ExpenseRollupId;
 import com.nvd.expensetracker.model.User;
-import com.nvd.expensetracker.repository.CategoryRepository;
+import com.nvd.expensetracker.profiling.ExpenseAggregationEvent;
 import com.nvd.expensetracker.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.nvd.expensetracker.dto.CategoryExpenseStats;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collector;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.toList;
-
 @Service
 @RequiredArgsConstructor
 public class ExpenseService {
 
-    private final ExpenseRepository expenseRepo;
-    private final CategoryRepository categoryRepo;
-
-    public List<Expense> filterExpenses(User user, Long categoryId, LocalDate startDate, LocalDate endDate) {
-        List<Expense> all = expenseRepo.findByUser(user);
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 500;
 
-        return all.stream()
-                .filter(e -> categoryId == null || e.getCategory().getId().equals(categoryId))
-                .filter(e -> startDate == null || !e.getDate().isBefore(startDate))
-                .filter(e -> endDate == null || !e.getDate().isAfter(endDate))
-                .collect(toList());
+    private final ExpenseRepository expenseRepo;
+    private final CategoryRegistry categoryRegistry;
+    private final ExpenseRollupService rollupService;
+    private final ExpenseStatsCache statsCache;
+    private final ExpenseRangeIndex rangeIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> filterExpenses(User user, Long categoryId, LocalDate startDate,
+                                                      LocalDate endDate, String cursor, int size) {
+        ExpenseCursor after = cursor == null || cursor.isBlank() ? null : ExpenseCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // Fetch one extra row to know whether another page exists
+        List<ExpenseResponse> items = expenseRepo.findPage(user, categoryId, startDate, endDate,
+                after == null ? null : after.date(),
+                after == null ? null : after.id(),
+                Limit.of(pageSize + 1));
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            ExpenseResponse last = items.get(pageSize - 1);
+            nextCursor = new ExpenseCursor(last.getDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
     }
 
     public BigDecimal getTotalExpense(User user, LocalDate startDate, LocalDate endDate) {
-        List<Expense> all = expenseRepo.findByUser(user);
-
-        return all.stream()
-                .filter(e -> startDate == null || !e.getDate().isBefore(startDate))
-                .filter(e -> endDate == null || !e.getDate().isAfter(endDate))
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return aggregate(user, "total", null, startDate, endDate,
+                () -> rangeIndex.sum(user.getId(), null, startDate, endDate)
+                        .orElseGet(() -> expenseRepo.sumByCategoryAndDate(user, null, startDate, endDate)));
     }
 
     public List<CategoryExpenseStats> getStatsByCategory(User user) {
-        List<Expense> expenses = expenseRepo.findByUser(user);
-
-        return expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ))
-                .entrySet().stream()
-                .map(e -> new CategoryExpenseStats(e.getKey(), e.getValue()))
-                .collect(toList());
+        return aggregate(user, "byCategory", null, null, null,
+                () -> List.copyOf(rollupService.getStatsByCategory(user.getId())));
     }
 
     public BigDecimal getFilteredTotal(User user, Long categoryId, LocalDate startDate, LocalDate endDate) {
-        List<Expense> all = expenseRepo.findByUser(user);
-
-        return all.stream()
-                .filter(e -> categoryId == null || e.getCategory().getId().equals(categoryId))
-                .filter(e -> startDate == null || !e.getDate().isBefore(startDate))
-                .filter(e -> endDate == null || !e.getDate().isAfter(endDate))
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return aggregate(user, "filteredTotal", categoryId, startDate, endDate,
+                () -> rangeIndex.sum(user.getId(), categoryId, startDate, endDate)
+                        .orElseGet(() -> expenseRepo.sumByCategoryAndDate(user, categoryId, startDate, endDate)));
     }
 
+    @Transactional
     public Expense createExpense(ExpenseRequest request, User user) {
-        Category category = categoryRepo.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = categoryRegistry.find(request.getCategoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         Expense expense = Expense.builder()
                 .description(request.getDescription())
@@ -83,21 +99,133 @@ public class ExpenseService {
                 .user(user)
                 .build();
 
-        return expenseRepo.save(expense);
+        Expense saved = expenseRepo.saveAndFlush(expense);
+        rollupService.add(saved);
+        eventPublisher.publishEvent(ExpenseChangedEvent.created(saved));
+        return saved;
+    }
+
+    @Transactional
+    public Expense updateExpense(Long id, ExpenseRequest request, User user) {
+        rollupService.lockUser(user.getId());
+        Expense expense = findOwnedExpense(id, user, "You do not have permission to update this expense.");
+        Category category = categoryRegistry.find(request.getCategoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+
+        ExpenseChangedEvent.Entry before = ExpenseChangedEvent.Entry.of(expense);
+        rollupService.move(user.getId(),
+                expense.getDate(), expense.getCategory().getId(), expense.getAmount(),
+                request.getDate(), category.getId(), request.getAmount());
+
+        expense.setAmount(request.getAmount());
+        expense.setDescription(request.getDescription());
+        expense.setDate(request.getDate());
+        expense.setCategory(category);
+        Expense saved = expenseRepo.saveAndFlush(expense);
+        eventPublisher.publishEvent(ExpenseChangedEvent.updated(user.getId(), before, saved));
+        return saved;
+    }
+
+    /**
+     * Creates or updates up to {@link #MAX_BATCH_SIZE} expenses in one transaction.
+     * Categories and existing expenses are loaded with one query each, rows are
+     * flushed as JDBC batches and rollups get one upsert per touched cell.
+     */
+    @Transactional
+    public List<Expense> saveExpenses(List<ExpenseBatchItem> items, User user) {
+        rollupService.lockUser(user.getId());
+        Map<Long, Category> categories = categoryRegistry.findAll(
+                items.stream().map(ExpenseBatchItem::getCategoryId).distinct().toList());
+        Map<Long, Expense> existing = expenseRepo.findAllById(
+                        items.stream().map(ExpenseBatchItem::getId).filter(Objects::nonNull).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+
+        Map<ExpenseRollupId, ExpenseRollup> rollups = new HashMap<>();
+        List<ExpenseChangedEvent> events = new ArrayList<>(items.size());
+        List<Expense> saved = new ArrayList<>(items.size());
+        for (ExpenseBatchItem item : items) {
+            Category category = categories.get(item.getCategoryId());
+            if (category == null) {
+                throw new ResourceNotFoundException("Category not found: " + item.getCategoryId());
+            }
+
+            Expense expense;
+            if (item.getId() == null) {
+                expense = expenseRepo.save(Expense.builder()
+                        .description(item.getDescription())
+                        .amount(item.getAmount())
+                        .date(item.getDate())
+                        .category(category)
+                        .user(user)
+                        .build());
+                events.add(ExpenseChangedEvent.created(expense));
+            } else {
+                expense = existing.get(item.getId());
+                if (expense == null) {
+                    throw new ResourceNotFoundException("Expense not found: " + item.getId());
+                }
+                if (!expense.getUser().getId().equals(user.getId())) {
+                    throw new AccessDeniedException("You do not have permission to update this expense.");
+                }
+                ExpenseChangedEvent.Entry before = ExpenseChangedEvent.Entry.of(expense);
+                ExpenseRollupService.accumulate(rollups, user.getId(),
+                        expense.getDate(), expense.getCategory().getId(), expense.getAmount().negate(), -1);
+                expense.setAmount(item.getAmount());
+                expense.setDescription(item.getDescription());
+                expense.setDate(item.getDate());
+                expense.setCategory(category);
+                events.add(ExpenseChangedEvent.updated(user.getId(), before, expense));
+            }
+            ExpenseRollupService.accumulate(rollups, user.getId(),
+                    expense.getDate(), category.getId(), expense.getAmount(), 1);
+            saved.add(expense);
+        }
+
+        expenseRepo.flush();
+        rollupService.addAll(rollups.values());
+        events.forEach(eventPublisher::publishEvent);
+        return saved;
+    }
+
+    @Transactional
+    public void deleteExpense(Long id, User user) {
+        rollupService.lockUser(user.getId());
+        Expense expense = findOwnedExpense(id, user, "You do not have permission to delete it");
+        expenseRepo.delete(expense);
+        rollupService.remove(expense);
+        eventPublisher.publishEvent(ExpenseChangedEvent.deleted(expense));
+    }
+
+    // Call with the user's rollup lock held, so the old values are not changed underneath
+    private Expense findOwnedExpense(Long id, User user, String deniedMessage) {
+        Expense expense = expenseRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense not found"));
+        if (!expense.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+        return expense;
     }
 
     public List<MonthlyStats> getMonthlyStats(User user) {
-        List<Expense> expenses = expenseRepo.findByUser(user);
-
-        return expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getDate().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ))
-                .entrySet().stream()
-                .map(e -> new MonthlyStats(e.getKey(), e.getValue()))
-                .sorted(Comparator.comparing(MonthlyStats::getMonth))
-                .collect(Collectors.toList());
+        return aggregate(user, "monthly", null, null, null,
+                () -> List.copyOf(rollupService.getMonthlyStats(user.getId())));
+    }
+
+    /** Serves a statistic through the cache and records it as a JFR event. */
+    private <T> T aggregate(User user, String query, Long categoryId, LocalDate startDate, LocalDate endDate,
+                            Supplier<T> loader) {
+        ExpenseAggregationEvent event = new ExpenseAggregationEvent();
+        event.begin();
+        T result = statsCache.get(user.getId(), query, categoryId, startDate, endDate, () -> {
+            event.cacheMiss = true;
+            return loader.get();
+        });
+        event.userId = user.getId();
+        event.aggregation = query;
+        event.resultSize = result instanceof Collection<?> entries ? entries.size() : 1;
+        event.commit();
+        return result;
     }
 
 }
@@ -0,0 +1,76 @@
+package com.nvd.expensetracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of per-user aggregate results.
+ * <p>
+ * Every key carries the user's current generation. A committed expense change
+ * moves the user to a new generation, so entries computed before the change,
+ * including loads still in flight, can never be read again and simply age out.
+ */
+@Component
+public class ExpenseStatsCache {
+
+    record Key(Long userId, long generation, String query, Long categoryId, LocalDate startDate, LocalDate endDate) {}
+
+    private final Cache<Key, Object> cache;
+    private final ConcurrentMap<Long, Long> generations;
+    private final AtomicLong generationCounter = new AtomicLong();
+
+    public ExpenseStatsCache(
+            @Value("${expense.stats-cache.maximum-size:10000}") long maximumSize,
+            @Value("${expense.stats-cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        // A forgotten generation is re-seeded from the global counter, which is never
+        // below any generation previously handed to that user
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(expireAfterWrite)
+                .<Long, Long>build()
+                .asMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String query, Long categoryId, LocalDate startDate, LocalDate endDate,
+                     Supplier<T> loader) {
+        Key key = new Key(userId, generationOf(userId), query, categoryId, startDate, endDate);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    public void invalidateUser(Long userId) {
+        generations.put(userId, generationCounter.incrementAndGet());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private long generationOf(Long userId) {
+        return generations.computeIfAbsent(userId, id -> generationCounter.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ExportFormat;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * In-memory state of one export. Only the worker thread running the job
+ * mutates its status; readers see the latest state through the volatile fields.
+ * Downloads and retirement are coordinated under the job's lock.
+ */
+@Getter
+public class ExportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final Long userId;
+    private final ExportFormat format;
+    private final Instant createdAt;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile Path file;
+    private volatile long sizeBytes;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private int activeDownloads;
+    @Getter(AccessLevel.NONE)
+    private Instant lastDownloadAt;
+    @Getter(AccessLevel.NONE)
+    private boolean retired;
+
+    ExportJob(String id, Long userId, ExportFormat format, Instant createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.format = format;
+        this.createdAt = createdAt;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+    }
+
+    void completed(Path file, long sizeBytes) {
+        this.file = file;
+        this.sizeBytes = sizeBytes;
+        this.finishedAt = Instant.now();
+        this.status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    /** Returns false once the job has been retired and its file may be gone. */
+    synchronized boolean downloadStarted() {
+        if (retired) {
+            return false;
+        }
+        activeDownloads++;
+        lastDownloadAt = Instant.now();
+        return true;
+    }
+
+    synchronized void downloadFinished() {
+        activeDownloads--;
+        lastDownloadAt = Instant.now();
+    }
+
+    /**
+     * Retires the job if it finished and was last downloaded before {@code cutoff} and
+     * no download is running; a retired job accepts no new downloads.
+     */
+    synchronized boolean retireIfIdleSince(Instant cutoff) {
+        if (!isFinished() || !finishedAt.isBefore(cutoff) || activeDownloads > 0
+                || (lastDownloadAt != null && !lastDownloadAt.isBefore(cutoff))) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ExportFormat;
+import com.nvd.expensetracker.exception.BadRequestException;
+import com.nvd.expensetracker.exception.ResourceNotFoundException;
+import com.nvd.expensetracker.exception.ServiceUnavailableException;
+import com.nvd.expensetracker.exception.TooManyRequestsException;
+import com.nvd.expensetracker.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs CSV/Excel exports off the request thread on a small bounded pool and keeps
+ * the result on local disk until {@code ttl} after the job finished or was last
+ * downloaded, whichever is later, and never while a download is running.
+ * <p>
+ * Job state lives in memory only; job files left over from a previous process are
+ * removed at startup.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    // <job UUID>.part while writing, <job UUID>.<format extension> once done
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}\\.(part|"
+                    + Arrays.stream(ExportFormat.values()).map(ExportFormat::getExtension).collect(Collectors.joining("|"))
+                    + ")");
+
+    private final CsvExportService csvExportService;
+    private final ExcelExportService excelExportService;
+    private final Path directory;
+    private final int maxActivePerUser;
+    private final Duration ttl;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeByUser = new ConcurrentHashMap<>();
+
+    public ExportJobService(
+            CsvExportService csvExportService,
+            ExcelExportService excelExportService,
+            @Value("${expense.export.jobs.directory:${java.io.tmpdir}/expense-exports}") Path directory,
+            @Value("${expense.export.jobs.pool-size:2}") int poolSize,
+            @Value("${expense.export.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${expense.export.jobs.max-active-per-user:2}") int maxActivePerUser,
+            @Value("${expense.export.jobs.ttl:PT1H}") Duration ttl,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.csvExportService = csvExportService;
+        this.excelExportService = excelExportService;
+        this.directory = directory;
+        this.maxActivePerUser = maxActivePerUser;
+        this.ttl = ttl;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            // Still at most poolSize exports at once, but blocked writers no longer hold platform threads
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("export-").getVirtualThreadFactory());
+        }
+        executor.initialize();
+    }
+
+    @PostConstruct
+    void prepareDirectory() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory)) {
+            for (Path file : leftovers) {
+                if (JOB_FILE.matcher(file.getFileName().toString()).matches()) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues an export for the user.
+     *
+     * @throws TooManyRequestsException    if the user already has the maximum number of unfinished exports
+     * @throws ServiceUnavailableException if the export queue is full
+     */
+    public ExportJob submit(User user, ExportFormat format) {
+        Long userId = user.getId();
+        activeByUser.compute(userId, (id, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= maxActivePerUser) {
+                throw new TooManyRequestsException("Too many exports in progress, wait for one to finish");
+            }
+            return count + 1;
+        });
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), userId, format, Instant.now());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, user));
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.getId());
+            release(userId);
+            throw new ServiceUnavailableException("Export queue is full, try again later");
+        }
+        return job;
+    }
+
+    public ExportJob getJob(String jobId, Long userId) {
+        ExportJob job = jobs.get(jobId);
+        // Someone else's job is reported as missing rather than forbidden
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+        return job;
+    }
+
+    public ExportJob getCompletedJob(String jobId, Long userId) {
+        ExportJob job = getJob(jobId, userId);
+        if (job.getStatus() != ExportJob.Status.DONE) {
+            throw new BadRequestException("Export is not ready: " + job.getStatus());
+        }
+        return job;
+    }
+
+    /**
+     * Marks a completed job's file as being downloaded; call {@link #finishDownload}
+     * once it has been handed to the response.
+     */
+    public ExportJob startDownload(String jobId, Long userId) {
+        ExportJob job = getCompletedJob(jobId, userId);
+        if (!job.downloadStarted()) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+        return job;
+    }
+
+    public void finishDownload(ExportJob job) {
+        job.downloadFinished();
+    }
+
+    @Scheduled(fixedDelayString = "${expense.export.jobs.cleanup-interval:PT5M}")
+    public void removeExpiredJobs() {
+        int removed = removeFinishedBefore(Instant.now().minus(ttl));
+        if (removed > 0) {
+            log.info("Removed {} expired export jobs", removed);
+        }
+    }
+
+    int removeFinishedBefore(Instant cutoff) {
+        int removed = 0;
+        for (ExportJob job : jobs.values()) {
+            if (job.retireIfIdleSince(cutoff) && jobs.remove(job.getId(), job)) {
+                if (job.getFile() != null) {
+                    deleteQuietly(job.getFile());
+                }
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void run(ExportJob job, User user) {
+        job.started();
+        Path partial = directory.resolve(job.getId() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), FILE_BUFFER_SIZE)) {
+                if (job.getFormat() == ExportFormat.XLSX) {
+                    excelExportService.writeExpensesToExcel(user, out);
+                } else {
+                    csvExportService.writeExpensesToCsv(user, out);
+                }
+            }
+            Path file = directory.resolve(job.getId() + "." + job.getFormat().getExtension());
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+            job.completed(file, Files.size(file));
+        } catch (Exception ex) {
+            log.warn("Export job {} for user {} failed", job.getId(), job.getUserId(), ex);
+            deleteQuietly(partial);
+            job.failed("Export failed");
+        } finally {
+            release(job.getUserId());
+        }
+    }
+
+    private void release(Long userId) {
+        activeByUser.computeIfPresent(userId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete export file {}", file, ex);
+        }
+    }
+}
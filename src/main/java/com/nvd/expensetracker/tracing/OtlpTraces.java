@@ -0,0 +1,78 @@
+package com.nvd.expensetracker.tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders traces in the OTLP/JSON encoding of {@code ExportTraceServiceRequest}, so a
+ * saved response can be loaded into any viewer that accepts OTLP files.
+ */
+public final class OtlpTraces {
+
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_SERVER = 2;
+    private static final int STATUS_ERROR = 2;
+
+    private OtlpTraces() {
+    }
+
+    public static Map<String, Object> toJson(List<TraceRecord> traces, String serviceName) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (TraceRecord trace : traces) {
+            for (int i = 0; i < trace.spans().size(); i++) {
+                spans.add(span(trace, i));
+            }
+        }
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", List.of(attribute("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", OtlpTraces.class.getPackageName()),
+                        "spans", spans)))));
+    }
+
+    private static Map<String, Object> span(TraceRecord trace, int index) {
+        TraceRecord.Span span = trace.spans().get(index);
+        long start = trace.startEpochNanos() + span.startOffsetNanos();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", trace.traceId());
+        json.put("spanId", spanId(index));
+        if (span.parent() >= 0) {
+            json.put("parentSpanId", spanId(span.parent()));
+        }
+        // int64 values are strings in OTLP/JSON
+        json.put("startTimeUnixNano", Long.toString(start));
+        json.put("endTimeUnixNano", Long.toString(start + span.durationNanos()));
+        if (index == 0) {
+            json.put("name", trace.method() + " " + trace.route());
+            json.put("kind", KIND_SERVER);
+            List<Map<String, Object>> attributes = new ArrayList<>(List.of(
+                    attribute("http.request.method", trace.method()),
+                    attribute("http.route", trace.route()),
+                    Map.of("key", "http.response.status_code",
+                            "value", Map.of("intValue", Integer.toString(trace.status()))),
+                    Map.of("key", "trace.dropped_spans",
+                            "value", Map.of("intValue", Integer.toString(trace.droppedSpans())))));
+            if (trace.requestId() != null) {
+                attributes.add(attribute("request.id", trace.requestId()));
+            }
+            json.put("attributes", attributes);
+            if (trace.status() >= 500) {
+                json.put("status", Map.of("code", STATUS_ERROR));
+            }
+        } else {
+            json.put("name", span.name());
+            json.put("kind", KIND_INTERNAL);
+        }
+        return json;
+    }
+
+    private static String spanId(int index) {
+        return String.format("%016x", index + 1L);
+    }
+
+    private static Map<String, Object> attribute(String key, String value) {
+        return Map.of("key", key, "value", Map.of("stringValue", value));
+    }
+}
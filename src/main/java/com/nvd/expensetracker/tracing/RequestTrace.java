@@ -0,0 +1,121 @@
+package com.nvd.expensetracker.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed-size span buffer of the request running on this thread. The buffer is
+ * reused by the thread's next request, so recording a span only writes a few
+ * array slots; {@link SlowTraceStore} copies it out when the request is slow
+ * enough to keep. Outside a traced request every method is a no-op.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final String[] names;
+    private final int[] parents;
+    private final long[] starts;
+    private final long[] ends;
+    private int size;
+    private int open;
+    private int dropped;
+    private boolean active;
+    private long startEpochNanos;
+
+    private RequestTrace(int capacity) {
+        names = new String[capacity];
+        parents = new int[capacity];
+        starts = new long[capacity];
+        ends = new long[capacity];
+    }
+
+    static RequestTrace begin(int capacity) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null || trace.names.length != capacity) {
+            trace = new RequestTrace(capacity);
+            CURRENT.set(trace);
+        }
+        Instant now = Instant.now();
+        trace.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        trace.size = 0;
+        trace.open = -1;
+        trace.dropped = 0;
+        trace.active = true;
+        return trace;
+    }
+
+    static void end() {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.active = false;
+        }
+    }
+
+    public static boolean isActive() {
+        RequestTrace trace = CURRENT.get();
+        return trace != null && trace.active;
+    }
+
+    /**
+     * Opens a span as a child of the innermost open one.
+     *
+     * @return handle for {@link #finish(int)}, or -1 when nothing is traced or the buffer is full
+     */
+    public static int start(String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null || !trace.active) {
+            return -1;
+        }
+        if (trace.size == trace.names.length) {
+            trace.dropped++;
+            return -1;
+        }
+        int span = trace.size++;
+        trace.names[span] = name;
+        trace.parents[span] = trace.open;
+        trace.starts[span] = System.nanoTime();
+        trace.ends[span] = 0;
+        trace.open = span;
+        return span;
+    }
+
+    /** Closes a span; closing it twice or with handle -1 does nothing. */
+    public static void finish(int span) {
+        RequestTrace trace = CURRENT.get();
+        if (span < 0 || trace == null || !trace.active || span >= trace.size || trace.ends[span] != 0) {
+            return;
+        }
+        trace.ends[span] = System.nanoTime();
+        if (trace.open == span) {
+            trace.open = trace.parents[span];
+        }
+    }
+
+    /** Duration of the first (root) span. */
+    long durationNanos() {
+        return size == 0 ? 0 : endOf(0) - starts[0];
+    }
+
+    TraceRecord snapshot(String method, String route, int status, String requestId) {
+        long origin = size == 0 ? 0 : starts[0];
+        List<TraceRecord.Span> spans = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            spans.add(new TraceRecord.Span(names[i], parents[i], starts[i] - origin, endOf(i) - starts[i]));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String traceId = String.format("%016x%016x", random.nextLong(), random.nextLong());
+        return new TraceRecord(traceId, requestId, method, route, status, startEpochNanos, durationNanos(),
+                List.copyOf(spans), dropped);
+    }
+
+    // Spans left open (e.g. by an exception) end with the root
+    private long endOf(int span) {
+        if (ends[span] != 0) {
+            return ends[span];
+        }
+        return ends[0] != 0 ? ends[0] : System.nanoTime();
+    }
+}
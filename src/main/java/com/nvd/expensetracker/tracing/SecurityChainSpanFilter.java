@@ -0,0 +1,53 @@
+package com.nvd.expensetracker.tracing;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Brackets the Spring Security filter chain as one span: the {@link #entry()}
+ * filter goes first in the chain and opens it, the {@link #exit()} filter goes last
+ * and closes it once the request is authorized. A rejected request never reaches
+ * the exit, so the entry filter closes the span on the way out.
+ */
+public final class SecurityChainSpanFilter implements Filter {
+
+    private static final String SPAN_ATTRIBUTE = SecurityChainSpanFilter.class.getName() + ".span";
+
+    private final boolean entry;
+
+    private SecurityChainSpanFilter(boolean entry) {
+        this.entry = entry;
+    }
+
+    public static SecurityChainSpanFilter entry() {
+        return new SecurityChainSpanFilter(true);
+    }
+
+    public static SecurityChainSpanFilter exit() {
+        return new SecurityChainSpanFilter(false);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!entry) {
+            if (request.getAttribute(SPAN_ATTRIBUTE) instanceof Integer span) {
+                RequestTrace.finish(span);
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        int span = RequestTrace.start("security.filterChain");
+        request.setAttribute(SPAN_ATTRIBUTE, span);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTrace.finish(span);
+        }
+    }
+}
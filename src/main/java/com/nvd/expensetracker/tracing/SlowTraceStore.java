@@ -0,0 +1,72 @@
+package com.nvd.expensetracker.tracing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the slowest requests of the last {@code window}: one bucket per second,
+ * each holding at most {@code slowest} traces in a min-heap, so a fast request
+ * costs one comparison and is never copied out of its thread's buffer.
+ */
+@Component
+public class SlowTraceStore {
+
+    private static final Comparator<TraceRecord> BY_DURATION = Comparator.comparingLong(TraceRecord::durationNanos);
+
+    private static final class Bucket {
+        private final PriorityQueue<TraceRecord> slowest = new PriorityQueue<>(BY_DURATION);
+        private long second = Long.MIN_VALUE;
+    }
+
+    private final int slowest;
+    private final Bucket[] buckets;
+
+    public SlowTraceStore(TracingProperties properties) {
+        this.slowest = properties.getSlowest();
+        this.buckets = new Bucket[(int) Math.max(1, properties.getWindow().toSeconds())];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    void offer(RequestTrace trace, String method, String route, int status, String requestId) {
+        long now = currentSecond();
+        Bucket bucket = buckets[(int) Math.floorMod(now, (long) buckets.length)];
+        synchronized (bucket) {
+            if (bucket.second != now) {
+                bucket.slowest.clear();
+                bucket.second = now;
+            }
+            if (bucket.slowest.size() == slowest) {
+                if (trace.durationNanos() <= bucket.slowest.peek().durationNanos()) {
+                    return;
+                }
+                bucket.slowest.poll();
+            }
+            bucket.slowest.add(trace.snapshot(method, route, status, requestId));
+        }
+    }
+
+    /** The slowest traces of the window, slowest first. */
+    public List<TraceRecord> slowest(int limit) {
+        long now = currentSecond();
+        List<TraceRecord> traces = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (now - bucket.second < buckets.length) {
+                    traces.addAll(bucket.slowest);
+                }
+            }
+        }
+        traces.sort(BY_DURATION.reversed());
+        return traces.size() > limit ? List.copyOf(traces.subList(0, limit)) : traces;
+    }
+
+    long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nvd.expensetracker.tracing;
+
+import java.util.List;
+
+/**
+ * A finished request kept by {@link SlowTraceStore}. Span 0 is the whole request;
+ * {@code parent} is the index of the enclosing span (-1 for the root) and times
+ * are relative to the start of the request.
+ */
+public record TraceRecord(String traceId, String requestId, String method, String route, int status,
+                          long startEpochNanos, long durationNanos, List<Span> spans, int droppedSpans) {
+
+    public record Span(String name, int parent, long startOffsetNanos, long durationNanos) {}
+}
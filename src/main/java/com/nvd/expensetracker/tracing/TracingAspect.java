@@ -0,0 +1,49 @@
+package com.nvd.expensetracker.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Spans for controller methods and Spring Data repository calls. */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint call) throws Throwable {
+        if (!RequestTrace.isActive()) {
+            return call.proceed();
+        }
+        return proceed(call, "controller " + call.getSignature().getDeclaringType().getSimpleName()
+                + "." + call.getSignature().getName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint call) throws Throwable {
+        if (!RequestTrace.isActive()) {
+            return call.proceed();
+        }
+        // Inherited methods such as save() are declared on CrudRepository; name the application interface
+        String repository = repositoryNames.computeIfAbsent(call.getThis().getClass(), proxy -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(call.getThis());
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : proxy.getSimpleName();
+        });
+        return proceed(call, "repository " + repository + "." + call.getSignature().getName());
+    }
+
+    private static Object proceed(ProceedingJoinPoint call, String name) throws Throwable {
+        int span = RequestTrace.start(name);
+        try {
+            return call.proceed();
+        } finally {
+            RequestTrace.finish(span);
+        }
+    }
+}
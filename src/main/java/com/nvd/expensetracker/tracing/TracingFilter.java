@@ -0,0 +1,50 @@
+package com.nvd.expensetracker.tracing;
+
+import com.nvd.expensetracker.logging.RequestIdFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens the request's root span, around everything but the request id and query
+ * budget filters, and hands the finished trace to {@link SlowTraceStore}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final TracingProperties properties;
+    private final SlowTraceStore store;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTrace trace = RequestTrace.begin(properties.getMaxSpans());
+        int root = RequestTrace.start("http.request");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTrace.finish(root);
+            RequestTrace.end();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            store.offer(trace, request.getMethod(), route != null ? route.toString() : request.getRequestURI(),
+                    response.getStatus(), MDC.get(RequestIdFilter.MDC_KEY));
+        }
+    }
+}
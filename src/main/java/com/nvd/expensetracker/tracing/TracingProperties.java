@@ -0,0 +1,27 @@
+package com.nvd.expensetracker.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/** Settings for the in-process request traces kept by {@link SlowTraceStore}. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "expense.tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /** Spans per request; further spans are counted as dropped. */
+    private int maxSpans = 64;
+
+    /** Slowest traces kept per second of the window. */
+    private int slowest = 20;
+
+    private Duration window = Duration.ofMinutes(1);
+
+    /** {@code service.name} of the exported OTLP resource. */
+    private String serviceName = "expense-tracker-api";
+}
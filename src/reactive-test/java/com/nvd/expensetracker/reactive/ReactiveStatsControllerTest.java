@@ -0,0 +1,68 @@
+package com.nvd.expensetracker.reactive;
+
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveStatsController.class)
+@Import({ReactiveSecurityConfig.class, JwtService.class})
+class ReactiveStatsControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockBean
+    private ReactiveStatsRepository statsRepo;
+
+    @Test
+    void servesStatsForTheTokenUserWithoutLookup() {
+        String token = jwtService.generateToken(
+                User.builder().id(9L).email("user@example.com").role(Role.USER).build());
+        when(statsRepo.statsByCategory(9L)).thenReturn(Flux.just(
+                new CategoryExpenseStats("Food", new BigDecimal("12.50"))));
+        when(statsRepo.monthlyStats(9L)).thenReturn(Flux.just(
+                new MonthlyStats("2025-01", new BigDecimal("12.50"))));
+
+        client.get().uri("/api/v2/expenses/stats")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.total[0].category").isEqualTo("Food");
+
+        client.get().uri("/api/v2/expenses/stats/monthly")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MonthlyStats.class).hasSize(1);
+    }
+
+    @Test
+    void rejectsMissingOrForgedToken() {
+        client.get().uri("/api/v2/expenses/stats").exchange().expectStatus().isUnauthorized();
+
+        String forged = new JwtService("some-other-secret-key-that-is-long-enough-for-hs256", 0)
+                .generateToken(User.builder().id(9L).email("user@example.com").role(Role.ADMIN).build());
+        client.get().uri("/api/v2/expenses/stats")
+                .header("Authorization", "Bearer " + forged)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
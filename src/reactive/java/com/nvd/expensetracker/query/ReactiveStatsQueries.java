@@ -0,0 +1,22 @@
+package com.nvd.expensetracker.query;
+
+// Native SQL for the R2DBC analytics tier; same aggregates as ExpenseRollupQueries / ExpenseQueries
+public class ReactiveStatsQueries {
+    public static final String STATS_BY_CATEGORY =
+            "SELECT c.name AS category, SUM(r.total) AS total " +
+                    "FROM expense_rollup r JOIN category c ON c.id = r.category_id " +
+                    "WHERE r.user_id = :userId AND r.count > 0 " +
+                    "GROUP BY c.name";
+
+    public static final String MONTHLY_STATS =
+            "SELECT to_char(r.month, 'YYYY-MM') AS month, SUM(r.total) AS total_amount " +
+                    "FROM expense_rollup r WHERE r.user_id = :userId AND r.count > 0 " +
+                    "GROUP BY r.month " +
+                    "ORDER BY r.month";
+
+    public static final String SUM_BY_USER =
+            "SELECT COALESCE(SUM(e.amount), 0) AS total FROM expense e WHERE e.user_id = :userId";
+    public static final String AND_CATEGORY = " AND e.category_id = :categoryId";
+    public static final String AND_START_DATE = " AND e.date >= :startDate";
+    public static final String AND_END_DATE = " AND e.date <= :endDate";
+}
@@ -0,0 +1,36 @@
+package com.nvd.expensetracker.reactive;
+
+import com.nvd.expensetracker.config.JwtService;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Read-only analytics API on WebFlux and R2DBC, run as its own process next to the
+ * MVC application (build with {@code -Preactive}). It only scans this package and
+ * shares {@link JwtService} so both tiers accept the same tokens.
+ * <p>
+ * Conditional on a reactive context so the MVC application's component scan skips it.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(JwtService.class)
+public class ReactiveStatsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveStatsApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,57 @@
+package com.nvd.expensetracker.reactive;
+
+import com.nvd.expensetracker.auth.AuthenticatedUser;
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterparts of the {@code /api/expenses/stats/**} endpoints with the
+ * same response shapes. List endpoints also stream as NDJSON for
+ * {@code Accept: application/x-ndjson}.
+ */
+@RestController
+@RequestMapping("/api/v2/expenses/stats")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStatsController {
+
+    private final ReactiveStatsRepository statsRepo;
+
+    @GetMapping
+    public Mono<Map<String, List<CategoryExpenseStats>>> getCategoryStats(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return statsRepo.statsByCategory(user.id()).collectList().map(stats -> Map.of("total", stats));
+    }
+
+    @GetMapping("/by-category")
+    public Flux<CategoryExpenseStats> streamCategoryStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        return statsRepo.statsByCategory(user.id());
+    }
+
+    @GetMapping("/filter")
+    public Mono<Map<String, BigDecimal>> getFilteredStats(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return statsRepo.filteredTotal(user.id(), categoryId, startDate, endDate)
+                .map(total -> Map.of("total", total));
+    }
+
+    @GetMapping("/monthly")
+    public Flux<MonthlyStats> getStatsByMonth(@AuthenticationPrincipal AuthenticatedUser user) {
+        return statsRepo.monthlyStats(user.id());
+    }
+}
@@ -0,0 +1,52 @@
+package com.nvd.expensetracker.reactive;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.query.ReactiveStatsQueries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStatsRepository {
+
+    private final DatabaseClient db;
+
+    public Flux<CategoryExpenseStats> statsByCategory(long userId) {
+        return db.sql(ReactiveStatsQueries.STATS_BY_CATEGORY)
+                .bind("userId", userId)
+                .map((row, meta) -> new CategoryExpenseStats(
+                        row.get("category", String.class), row.get("total", BigDecimal.class)))
+                .all();
+    }
+
+    public Flux<MonthlyStats> monthlyStats(long userId) {
+        return db.sql(ReactiveStatsQueries.MONTHLY_STATS)
+                .bind("userId", userId)
+                .map((row, meta) -> new MonthlyStats(
+                        row.get("month", String.class), row.get("total_amount", BigDecimal.class)))
+                .all();
+    }
+
+    public Mono<BigDecimal> filteredTotal(long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        // Only the filters that are present are added, so no typed NULL binds are needed
+        StringBuilder sql = new StringBuilder(ReactiveStatsQueries.SUM_BY_USER);
+        if (categoryId != null) sql.append(ReactiveStatsQueries.AND_CATEGORY);
+        if (startDate != null) sql.append(ReactiveStatsQueries.AND_START_DATE);
+        if (endDate != null) sql.append(ReactiveStatsQueries.AND_END_DATE);
+
+        DatabaseClient.GenericExecuteSpec spec = db.sql(sql.toString()).bind("userId", userId);
+        if (categoryId != null) spec = spec.bind("categoryId", categoryId);
+        if (startDate != null) spec = spec.bind("startDate", startDate);
+        if (endDate != null) spec = spec.bind("endDate", endDate);
+        return spec.map((row, meta) -> row.get("total", BigDecimal.class)).one();
+    }
+}
@@ -0,0 +1,62 @@
+package com.nvd.expensetracker.auth;
+
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private PasswordHashingService passwordHashing;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashing = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 1, 4, Duration.ofSeconds(5));
+        authService = new AuthService(userRepository, passwordHashing, mock(JwtService.class));
+        authService.initDummyHash();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashing.shutdown();
+    }
+
+    @Test
+    void unknownEmailAndWrongPasswordFailAlikeAfterOneVerification() {
+        User user = User.builder().email("known@test.com").password(new BCryptPasswordEncoder(4).encode("secret"))
+                .role(Role.USER).build();
+        when(userRepository.findByEmail("known@test.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+        long hashesBefore = passwordHashing.stats().completed();
+
+        assertThatThrownBy(() -> authService.authenticate(request("unknown@test.com", "secret")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(passwordHashing.stats().completed()).isEqualTo(hashesBefore + 1);
+
+        assertThatThrownBy(() -> authService.authenticate(request("known@test.com", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(passwordHashing.stats().completed()).isEqualTo(hashesBefore + 2);
+    }
+
+    private static AuthenticationRequest request(String email, String password) {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package com.nvd.expensetracker.auth;
+
+import com.nvd.expensetracker.model.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrentUserIdArgumentResolverTest {
+
+    private final CurrentUserIdArgumentResolver resolver = new CurrentUserIdArgumentResolver();
+
+    @SuppressWarnings("unused")
+    void handler(@CurrentUserId Long userId, Long other) {
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolvesIdFromAuthenticatedPrincipal() throws Exception {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "user@example.com", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        MethodParameter parameter = parameter(0);
+        assertThat(resolver.supportsParameter(parameter)).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isFalse();
+        assertThat(resolver.resolveArgument(parameter, null, null, null)).isEqualTo(7L);
+    }
+
+    @Test
+    void failsWithoutAuthentication() throws Exception {
+        MethodParameter parameter = parameter(0);
+
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter, null, null, null))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod("handler", Long.class, Long.class), index);
+    }
+}
@@ -0,0 +1,64 @@
+package com.nvd.expensetracker.auth;
+
+import com.nvd.expensetracker.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rehashesPasswordStoredWithAnotherCost() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(5), 5, 1, 4, Duration.ofSeconds(5));
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        PasswordHashingService.Verification verification = service.verify("secret", oldHash);
+
+        assertThat(verification.matches()).isTrue();
+        assertThat(verification.upgradedHash()).startsWith("$2a$05$");
+        assertThat(service.verify("secret", verification.upgradedHash()).upgradedHash()).isNull();
+        assertThat(service.verify("wrong", oldHash)).isEqualTo(new PasswordHashingService.Verification(false, null));
+        assertThat(service.stats().completed()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        service = new PasswordHashingService(slow, 10, 1, 0, Duration.ofSeconds(5));
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.encode("b")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(service.stats().rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+}
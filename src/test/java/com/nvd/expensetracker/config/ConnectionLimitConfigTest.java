@@ -0,0 +1,39 @@
+package com.nvd.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "expense.datasource.concurrency-limit.enabled=true")
+@ActiveProfiles("test")
+class ConnectionLimitConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void permits_shouldDefaultToHikarisPoolSizeBeforeThePoolStarts() throws Exception {
+        ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+
+        assertThat(limiter.getMaxPermits()).isEqualTo(ConnectionLimitConfig.HIKARI_DEFAULT_POOL_SIZE);
+        assertThat(limiter.getAvailablePermits()).isEqualTo(ConnectionLimitConfig.HIKARI_DEFAULT_POOL_SIZE);
+    }
+
+    @Test
+    void gauges_shouldBeBoundThroughTheStatementTrackingWrapper() throws Exception {
+        assertThat(dataSource).isInstanceOf(StatementTrackingDataSource.class);
+
+        assertThat(meterRegistry.get("expense.datasource.limit.available").gauge().value())
+                .isEqualTo(ConnectionLimitConfig.HIKARI_DEFAULT_POOL_SIZE);
+        assertThat(meterRegistry.find("expense.datasource.limit.waiting").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nvd.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    @Test
+    void permitIsHeldUntilConnectionIsClosedOnce() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        verify(physical, times(2)).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        dataSource.getConnection().close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReturnedWhenThePoolFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        ConnectionLimitingDataSource dataSource =
+                new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void nonPositivePermitsAreRejected() {
+        assertThatThrownBy(() -> new ConnectionLimitingDataSource(mock(DataSource.class), 0, Duration.ofMillis(50)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
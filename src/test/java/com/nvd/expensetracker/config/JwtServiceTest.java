@@ -0,0 +1,80 @@
+package com.nvd.expensetracker.config;
+
+import com.nvd.expensetracker.auth.AuthenticatedUser;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 100);
+
+    @Test
+    void tokenCarriesUserIdAndRole() {
+        User user = User.builder().id(42L).email("admin@example.com").role(Role.ADMIN).build();
+
+        AuthenticatedUser principal = jwtService.parseAuthenticatedUser(jwtService.generateToken(user)).user();
+
+        assertThat(principal).isEqualTo(new AuthenticatedUser(42L, "admin@example.com", Role.ADMIN));
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ADMIN");
+    }
+
+    @Test
+    void tokenWithoutIdentityClaimsYieldsOnlyTheSubject() {
+        String legacy = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        JwtService.VerifiedClaims claims = jwtService.parseAuthenticatedUser(legacy);
+
+        assertThat(claims.user()).isNull();
+        assertThat(claims.subject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtService other = new JwtService(SECRET + "-other", 0);
+        User user = User.builder().id(1L).email("user@example.com").role(Role.ADMIN).build();
+        String forged = other.generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.parseAuthenticatedUser(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromCache() {
+        User user = User.builder().id(5L).email("user@example.com").role(Role.USER).build();
+        String token = jwtService.generateToken(user);
+
+        AuthenticatedUser first = jwtService.parseAuthenticatedUser(token).user();
+        AuthenticatedUser second = jwtService.parseAuthenticatedUser(token).user();
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.cacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim(JwtService.USER_ID_CLAIM, 1L)
+                .claim(JwtService.ROLE_CLAIM, "USER")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseAuthenticatedUser(expired)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nvd.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void requireVirtualThreads_shouldRejectJvmsWithoutThem() {
+        assertThatThrownBy(() -> VirtualThreadsConfig.requireVirtualThreads(17))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+        assertThatCode(() -> VirtualThreadsConfig.requireVirtualThreads(21)).doesNotThrowAnyException();
+    }
+}
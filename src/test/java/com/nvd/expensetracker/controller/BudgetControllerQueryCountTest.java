@@ -0,0 +1,96 @@
+package com.nvd.expensetracker.controller;
+
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.dto.BudgetRequest;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import com.nvd.expensetracker.repository.UserRepository;
+import com.nvd.expensetracker.service.BudgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.nvd.expensetracker.support.QueryCountAssertions.assertQueryCount;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BudgetControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private String bearer;
+    private List<Category> categories;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com").password("x").role(Role.USER).build());
+        categories = new ArrayList<>();
+        List<BudgetRequest> budgets = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Category category = categoryRepo.save(Category.builder().name("Category " + UUID.randomUUID()).build());
+            categories.add(category);
+            BudgetRequest budget = new BudgetRequest();
+            budget.setAmount(BigDecimal.valueOf(500 + i));
+            budget.setCategoryId(category.getId());
+            budgets.add(budget);
+        }
+        budgetService.upsertBudgets(budgets, user);
+        bearer = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Test
+    void list_shouldRunOneStatementWithCategoryNames() throws Exception {
+        assertQueryCount(mockMvc, get("/api/budgets").header(AUTHORIZATION, bearer), 1);
+    }
+
+    @Test
+    void create_shouldLoadTheCategoryAndInsert() throws Exception {
+        assertQueryCount(mockMvc, post("/api/budgets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\":100,\"categoryId\":" + categories.get(0).getId() + "}")
+                .header(AUTHORIZATION, bearer), 3);
+    }
+
+    @Test
+    void batchUpsert_shouldNotGrowWithTheNumberOfItems() throws Exception {
+        String items = categories.stream()
+                .map(c -> "{\"amount\":250,\"categoryId\":" + c.getId() + "}")
+                .collect(Collectors.joining(",", "{\"items\":[", "]}"));
+        assertQueryCount(mockMvc, put("/api/budgets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(items)
+                .header(AUTHORIZATION, bearer), 4);
+    }
+}
@@ -0,0 +1,161 @@
+package com.nvd.expensetracker.controller;
+
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.dto.ExpenseBatchItem;
+import com.nvd.expensetracker.metrics.RequestQueryStats;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import com.nvd.expensetracker.repository.UserRepository;
+import com.nvd.expensetracker.service.CategoryRegistry;
+import com.nvd.expensetracker.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static com.nvd.expensetracker.support.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the expense routes over many rows and categories, so an N+1
+ * (e.g. lazy category loads while mapping) fails here rather than in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExpenseControllerQueryCountTest {
+
+    private static final Pattern READS_CATEGORY = Pattern.compile("(?i)\\b(from|join)\\s+category\\b");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    private String bearer;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com").password("x").role(Role.USER).build());
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            categories.add(categoryRepo.save(Category.builder().name("Category " + UUID.randomUUID()).build()));
+        }
+        List<ExpenseBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ExpenseBatchItem item = new ExpenseBatchItem();
+            item.setDescription("Expense " + i);
+            item.setAmount(BigDecimal.valueOf(100 + i));
+            item.setDate(LocalDate.of(2025, 1, 1).plusDays(i * 5L));
+            item.setCategoryId(categories.get(i % categories.size()).getId());
+            items.add(item);
+        }
+        expenseService.saveExpenses(items, user);
+        categoryId = categories.get(0).getId();
+        bearer = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Test
+    void list_shouldRunOneStatementForAFullPage() throws Exception {
+        assertQueryCount(mockMvc, get("/api/expenses").param("size", "50").header(AUTHORIZATION, bearer), 1);
+    }
+
+    @Test
+    void filter_shouldRunOneStatement() throws Exception {
+        assertQueryCount(mockMvc, get("/api/expenses/filter")
+                .param("categoryId", categoryId.toString())
+                .param("startDate", "2025-01-01")
+                .param("endDate", "2025-12-31")
+                .header(AUTHORIZATION, bearer), 1);
+    }
+
+    @Test
+    void stats_shouldRunOneStatementEach() throws Exception {
+        assertQueryCount(mockMvc, get("/api/expenses/stats").header(AUTHORIZATION, bearer), 1);
+        assertQueryCount(mockMvc, get("/api/expenses/stats/monthly").header(AUTHORIZATION, bearer), 1);
+        assertQueryCount(mockMvc, get("/api/expenses/total").header(AUTHORIZATION, bearer), 1);
+    }
+
+    @Test
+    void create_shouldLoadTheCategoryLockTheUserInsertAndUpdateTheRollup() throws Exception {
+        assertQueryCount(mockMvc, post("/api/expenses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Lunch\",\"amount\":12.5,\"date\":\"2025-03-01\",\"categoryId\":" + categoryId + "}")
+                .header(AUTHORIZATION, bearer), 5);
+    }
+
+    @Test
+    void create_shouldResolveTheCategoryWithoutAQueryOnceTheRegistryIsLoaded() throws Exception {
+        String body = "{\"description\":\"Lunch\",\"amount\":12.5,\"date\":\"2025-03-01\",\"categoryId\":" + categoryId + "}";
+        mockMvc.perform(post("/api/expenses").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header(AUTHORIZATION, bearer));
+
+        MvcResult result = assertQueryCount(mockMvc, post("/api/expenses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header(AUTHORIZATION, bearer), 4);
+
+        RequestQueryStats stats = (RequestQueryStats) result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE);
+        assertThat(stats.statements()).noneMatch(sql -> READS_CATEGORY.matcher(sql).find());
+    }
+
+    @Test
+    void create_shouldAnswerNotFoundForACategoryDeletedBehindTheRegistry() throws Exception {
+        Category doomed = categoryRepo.save(Category.builder().name("Category " + UUID.randomUUID()).build());
+        categoryRegistry.invalidate();
+        assertThat(categoryRegistry.find(doomed.getId())).isPresent();
+        // As if deleted on another node: this registry still resolves it
+        categoryRepo.deleteById(doomed.getId());
+
+        mockMvc.perform(post("/api/expenses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Lunch\",\"amount\":12.5,\"date\":\"2025-03-01\",\"categoryId\":" + doomed.getId() + "}")
+                        .header(AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listCategories_shouldBeServedFromTheRegistry() throws Exception {
+        mockMvc.perform(get("/api/categories").header(AUTHORIZATION, bearer));
+
+        assertQueryCount(mockMvc, get("/api/categories").header(AUTHORIZATION, bearer), 0);
+    }
+
+    @Test
+    void exportCsv_shouldStreamAllRowsWithOneStatement() throws Exception {
+        assertQueryCount(mockMvc, get("/api/expenses/export/csv").header(AUTHORIZATION, bearer), 1);
+    }
+}
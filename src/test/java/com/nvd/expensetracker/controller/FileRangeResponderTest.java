@@ -0,0 +1,79 @@
+package com.nvd.expensetracker.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileRangeResponderTest {
+
+    private static final String ETAG = "\"job-1\"";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void serve_shouldReturnWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/download"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void serve_shouldReturnRequestedRangeAndHonourIfRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=4-");
+        request.addHeader("If-Range", ETAG);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 4-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("456789");
+
+        request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=4-");
+        request.addHeader("If-Range", "\"stale\"");
+        assertThat(serve(request).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void serve_shouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=10-20");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void serve_shouldDelegateToSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.setAttribute(FileRangeResponder.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(3);
+        assertThat(request.getAttribute(FileRangeResponder.SENDFILE_START)).isEqualTo(7L);
+        assertThat(request.getAttribute(FileRangeResponder.SENDFILE_END)).isEqualTo(10L);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        Path file = Files.writeString(directory.resolve("export.csv"), "0123456789");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileRangeResponder.serve(file, 10, "text/csv", "expenses.csv", ETAG, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.nvd.expensetracker.exception;
+
+import com.nvd.expensetracker.service.CategoryRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalExceptionHandlerTest {
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @InjectMocks
+    private GlobalExceptionHandler handler;
+
+    @Test
+    void missingCategory_shouldAnswerNotFoundAndReloadTheRegistry() {
+        DataIntegrityViolationException ex = violation("23503",
+                "ERROR: insert or update on table \"expense\" violates foreign key constraint \"fk5v2o1cyc\"\n"
+                        + "  Detail: Key (category_id)=(9) is not present in table \"category\".");
+
+        assertThat(handler.handleDataIntegrityViolation(ex).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        verify(categoryRegistry).invalidate();
+    }
+
+    @Test
+    void otherForeignKeys_shouldStayServerErrors() {
+        DataIntegrityViolationException missingUser = violation("23503",
+                "ERROR: insert or update on table \"expense\" violates foreign key constraint \"fkbkv1qa9m\"\n"
+                        + "  Detail: Key (user_id)=(3) is not present in table \"users\".");
+        DataIntegrityViolationException categoryInUse = violation("23503",
+                "ERROR: update or delete on table \"category\" violates foreign key constraint \"fk5v2o1cyc\" on table \"expense\"\n"
+                        + "  Detail: Key (id)=(9) is still referenced from table \"expense\".");
+
+        assertThat(handler.handleDataIntegrityViolation(missingUser).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(handler.handleDataIntegrityViolation(categoryInUse).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        verify(categoryRegistry, never()).invalidate();
+    }
+
+    @Test
+    void isMissingCategory_shouldOnlyMatchTheCategoryColumnOnH2() {
+        assertThat(GlobalExceptionHandler.isMissingCategory(violation("23506",
+                "Referential integrity constraint violation: \"fk5v2o1cyc: public.expense FOREIGN KEY(category_id) "
+                        + "REFERENCES public.category(id) (CAST(9 AS BIGINT))\""))).isTrue();
+        assertThat(GlobalExceptionHandler.isMissingCategory(violation("23506",
+                "Referential integrity constraint violation: \"fkbkv1qa9m: public.expense FOREIGN KEY(user_id) "
+                        + "REFERENCES public.users(id) (CAST(3 AS BIGINT))\""))).isFalse();
+    }
+
+    private static DataIntegrityViolationException violation(String sqlState, String message) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException(message, sqlState));
+    }
+}
@@ -0,0 +1,69 @@
+package com.nvd.expensetracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingAsyncAppenderTest {
+
+    @Test
+    void countsEventsDroppedWhenQueueIsFull() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(context);
+        async.setName("TEST_ASYNC");
+        async.setQueueSize(4);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(stalled);
+        async.start();
+
+        Logger logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(async);
+        try {
+            // Park the worker inside the stalled appender so nothing drains the queue
+            logger.info("first");
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 20; i++) {
+                logger.info("event {}", i);
+            }
+
+            assertThat(CountingAsyncAppender.registered()).contains(async);
+            assertThat(async.getNumberOfElementsInQueue()).isEqualTo(4);
+            assertThat(async.getDroppedCount()).isEqualTo(16);
+        } finally {
+            release.countDown();
+            async.stop();
+            context.stop();
+        }
+        assertThat(CountingAsyncAppender.registered()).doesNotContain(async);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nvd.expensetracker.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTest {
+
+    @Test
+    void dropsAndCountsWhenFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        buffer.drain(drained::add, 10);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+        assertThat(buffer.dropped()).isEqualTo(2);
+        assertThat(buffer.offer(7)).isTrue();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingButDrops() throws Exception {
+        LogRingBuffer<Long> buffer = new LogRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            pool.execute(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    buffer.offer(i);
+                }
+                done.countDown();
+            });
+        }
+
+        AtomicLong consumed = new AtomicLong();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drain(item -> consumed.incrementAndGet(), 256);
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(consumed.get() + buffer.dropped()).isEqualTo((long) producers * perProducer);
+    }
+}
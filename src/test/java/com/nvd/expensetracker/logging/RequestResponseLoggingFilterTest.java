@@ -0,0 +1,77 @@
+package com.nvd.expensetracker.logging;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RequestResponseLoggingFilterTest {
+
+    private final HttpLoggingProperties properties = new HttpLoggingProperties();
+    private final AsyncHttpLogWriter logWriter = mock(AsyncHttpLogWriter.class);
+    private final RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(properties, logWriter);
+
+    @Test
+    void capturesOnlyLeadingBytesWhileWritingTheFullBody() throws Exception {
+        properties.setMaxBodyBytes(10);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/expenses");
+        request.setContentType("application/json");
+        request.setContent("{\"amount\":12.50}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.getInputStream().readAllBytes();
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"status\":\"created\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"status\":\"created\"}");
+        HttpLogEvent event = captureEvent();
+        assertThat(event.requestBody().describe()).isEqualTo("{\"amount\":...(truncated, 16 bytes)");
+        assertThat(event.responseBody().describe()).isEqualTo("{\"status\":...(truncated, 20 bytes)");
+    }
+
+    @Test
+    void skipsBinaryBodies() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/chart");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("image/png");
+            res.getOutputStream().write(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        });
+
+        assertThat(response.getContentAsByteArray()).hasSize(4);
+        assertThat(captureEvent().responseBody()).isNull();
+    }
+
+    @Test
+    void unsampledRoutesAreOnlyLoggedOnServerErrors() throws Exception {
+        properties.getRouteSampleRates().put("/api/expenses", 0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), new MockHttpServletResponse(),
+                (req, res) -> { });
+        verify(logWriter, never()).submit(any());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(500));
+        HttpLogEvent event = captureEvent();
+        assertThat(event.status()).isEqualTo(500);
+        assertThat(event.responseBody()).isNull();
+    }
+
+    private HttpLogEvent captureEvent() {
+        ArgumentCaptor<HttpLogEvent> captor = ArgumentCaptor.forClass(HttpLogEvent.class);
+        verify(logWriter).submit(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.nvd.expensetracker.metrics;
+
+import com.nvd.expensetracker.auth.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability
+class PrometheusScrapeTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void scrape_shouldExposeRouteJpaPoolAndJwtMetricsWithoutAuthentication() {
+        rest.postForEntity("/api/auth/register", new RegisterRequest("Metrics", "metrics@test.com", "secret"), String.class);
+        Map<?, ?> login = rest.postForObject("/api/auth/login",
+                Map.of("email", "metrics@test.com", "password", "secret"), Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.get("token"));
+        ResponseEntity<String> expenses = rest.exchange("/api/expenses", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(expenses.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> scrape = rest.getForEntity(
+                "http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket{application=\"expense-tracker-api\"")
+                .contains("uri=\"/api/expenses\"")
+                .containsPattern("hibernate_request_statements_sum\\{[^}]*uri=\"/api/expenses\"[^}]*} [1-9]")
+                .contains("hibernate_query_executions_total")
+                .contains("hikaricp_connections_acquire_seconds")
+                .contains("jwt_verification_seconds_bucket");
+    }
+
+    @Test
+    void otherActuatorEndpoints_shouldRequireAnAdmin() {
+        ResponseEntity<String> metrics = rest.getForEntity(
+                "http://127.0.0.1:" + managementPort + "/actuator/metrics", String.class);
+
+        assertThat(metrics.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
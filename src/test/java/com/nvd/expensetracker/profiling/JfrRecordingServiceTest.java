@@ -0,0 +1,105 @@
+package com.nvd.expensetracker.profiling;
+
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.exception.BadRequestException;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.service.CsvExportService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JfrRecordingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.discard();
+    }
+
+    @Test
+    void recording_shouldCaptureExportEventsAndBeDownloadableAfterStop() throws Exception {
+        service = new JfrRecordingService(directory, Duration.ofMinutes(1), DataSize.ofMegabytes(64));
+        User user = User.builder().id(7L).build();
+        ExpenseRepository repo = mock(ExpenseRepository.class);
+        when(repo.streamExportRows(user)).thenReturn(Stream.of(
+                new ExpenseExportRow(1L, BigDecimal.TEN, "Lunch", LocalDate.of(2025, 1, 1), "Food"),
+                new ExpenseExportRow(2L, BigDecimal.ONE, "Bus", LocalDate.of(2025, 1, 2), "Travel")));
+
+        assertThat(service.start(Duration.ofSeconds(30), "default").state()).isEqualTo("RUNNING");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvExportService(repo, 1000).writeExpensesToCsv(user, out);
+        JfrRecordingService.Status stopped = service.stop();
+
+        assertThat(stopped.state()).isEqualTo("STOPPED");
+        JfrRecordingService.Download download = service.download();
+        assertThat(download.sizeBytes()).isPositive().isEqualTo(stopped.sizeBytes());
+        List<RecordedEvent> exports = RecordingFile.readAllEvents(download.file()).stream()
+                .filter(e -> e.getEventType().getName().equals("com.nvd.expensetracker.ExpenseExport"))
+                .toList();
+        assertThat(exports).singleElement().satisfies(e -> {
+            assertThat(e.getLong("userId")).isEqualTo(7);
+            assertThat(e.getString("format")).isEqualTo("csv");
+            assertThat(e.getLong("rows")).isEqualTo(2);
+            assertThat(e.getLong("bytes")).isEqualTo(out.size());
+        });
+    }
+
+    @Test
+    void start_shouldRejectOverlongOrConcurrentRecordings() {
+        service = new JfrRecordingService(directory, Duration.ofMinutes(1), DataSize.ofMegabytes(64));
+
+        assertThatThrownBy(() -> service.start(Duration.ofMinutes(5), "default"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.start(Duration.ofSeconds(10), "custom.jfc"))
+                .isInstanceOf(BadRequestException.class);
+
+        service.start(Duration.ofSeconds(30), "default");
+        assertThatThrownBy(() -> service.start(Duration.ofSeconds(30), "profile"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.download())
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void start_shouldKeepAReplacedFileWhileItIsDownloaded() {
+        service = new JfrRecordingService(directory, Duration.ofMinutes(1), DataSize.ofMegabytes(64));
+        service.start(Duration.ofSeconds(30), "default");
+        service.stop();
+        JfrRecordingService.Download downloading = service.download();
+
+        service.start(Duration.ofSeconds(30), "default");
+        Path neverDownloaded = directory.resolve("expense-tracker-" + service.status().id() + ".jfr");
+        service.stop();
+        assertThat(downloading.file()).exists();
+
+        service.finishDownload(downloading);
+        service.start(Duration.ofSeconds(30), "default");
+        assertThat(neverDownloaded).doesNotExist();
+        // Finished within the grace period, which a sendfile transfer may still be using
+        assertThat(downloading.file()).exists();
+
+        service.discard();
+        assertThat(downloading.file()).doesNotExist();
+    }
+}
@@ -0,0 +1,197 @@
+package com.nvd.expensetracker.repository;
+
+import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.dto.ExpenseResponse;
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseRepositoryTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private User user;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(User.builder().email("a@test.com").password("x").role(Role.USER).build());
+        User other = userRepo.save(User.builder().email("b@test.com").password("x").role(Role.USER).build());
+        food = categoryRepo.save(Category.builder().name("Food").build());
+        travel = categoryRepo.save(Category.builder().name("Travel").build());
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 30; i++) {
+            // Two expenses per day so the id tie-breaker is exercised
+            LocalDate date = start.plusDays(i / 2);
+            expenseRepo.save(expense(user, i % 3 == 0 ? travel : food, date, 1000 + i));
+            expenseRepo.save(expense(other, food, date, 5));
+        }
+    }
+
+    @Test
+    void findPage_shouldWalkAllRowsNewestFirstWithoutGapsOrDuplicates() {
+        List<Expense> expected = expenseRepo.findByUser(user).stream()
+                .sorted(Comparator.comparing(Expense::getDate).thenComparing(Expense::getId).reversed())
+                .toList();
+
+        List<ExpenseResponse> walked = new ArrayList<>();
+        LocalDate cursorDate = null;
+        Long cursorId = null;
+        List<ExpenseResponse> page;
+        do {
+            page = expenseRepo.findPage(user, null, null, null, cursorDate, cursorId, Limit.of(7));
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                cursorDate = page.get(page.size() - 1).getDate();
+                cursorId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 7);
+
+        assertThat(walked).extracting(ExpenseResponse::getId)
+                .containsExactlyElementsOf(expected.stream().map(Expense::getId).toList());
+    }
+
+    @Test
+    void findPage_shouldApplyCategoryAndDateFilters() {
+        LocalDate from = LocalDate.of(2025, 1, 3);
+        LocalDate to = LocalDate.of(2025, 1, 8);
+
+        List<ExpenseResponse> page = expenseRepo.findPage(user, travel.getId(), from, to, null, null, Limit.of(100));
+
+        assertThat(page).isNotEmpty().allSatisfy(e -> {
+            assertThat(e.getCategoryName()).isEqualTo("Travel");
+            assertThat(e.getDate()).isBetween(from, to);
+            assertThat(e.getAmount()).isGreaterThanOrEqualTo(BigDecimal.valueOf(1000));
+        });
+    }
+
+    @Test
+    void aggregates_shouldMatchStreamBasedImplementation() {
+        Random random = new Random(42);
+        Category rent = categoryRepo.save(Category.builder().name("Rent").build());
+        List<Category> categories = List.of(food, travel, rent);
+        for (int i = 0; i < 300; i++) {
+            expenseRepo.save(Expense.builder()
+                    .description("Random " + i)
+                    .amount(BigDecimal.valueOf(random.nextInt(1_000_000), 2))
+                    .date(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(500)))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .user(user)
+                    .build());
+        }
+        List<Expense> all = expenseRepo.findByUser(user);
+        LocalDate from = LocalDate.of(2024, 3, 15);
+        LocalDate to = LocalDate.of(2024, 11, 2);
+
+        assertThat(expenseRepo.sumByCategoryAndDate(user, null, from, to))
+                .isEqualByComparingTo(streamTotal(all, null, from, to));
+        assertThat(expenseRepo.sumByCategoryAndDate(user, rent.getId(), from, null))
+                .isEqualByComparingTo(streamTotal(all, rent.getId(), from, null));
+        assertThat(expenseRepo.sumByCategoryAndDate(user, null, null, null))
+                .isEqualByComparingTo(streamTotal(all, null, null, null));
+        assertThat(expenseRepo.sumByCategoryAndDate(user, null, LocalDate.of(2030, 1, 1), null))
+                .isEqualByComparingTo(BigDecimal.ZERO);
+
+        assertThat(toMap(expenseRepo.statsByCategory(user), CategoryExpenseStats::getCategory, CategoryExpenseStats::getTotal))
+                .isEqualTo(streamByKey(all, e -> e.getCategory().getName()));
+
+        List<MonthlyStats> monthly = expenseRepo.monthlyStats(user);
+        assertThat(monthly).extracting(MonthlyStats::getMonth).isSorted();
+        assertThat(toMap(monthly, MonthlyStats::getMonth, MonthlyStats::getTotalAmount))
+                .isEqualTo(streamByKey(all, e -> e.getDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))));
+    }
+
+    @Test
+    void rollupByUser_shouldGroupByMonthStartAndCategory() {
+        Map<String, BigDecimal> expected = streamByKey(expenseRepo.findByUser(user),
+                e -> e.getDate().withDayOfMonth(1) + "/" + e.getCategory().getId());
+
+        List<ExpenseRollup> rollups = expenseRepo.rollupByUser(user.getId());
+
+        assertThat(rollups).allSatisfy(r -> assertThat(r.getUserId()).isEqualTo(user.getId()));
+        assertThat(rollups.stream().mapToLong(ExpenseRollup::getCount).sum()).isEqualTo(30);
+        assertThat(toMap(rollups, r -> r.getMonth() + "/" + r.getCategoryId(), ExpenseRollup::getTotal))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void streamExportRows_shouldReturnOwnRowsOldestFirst() {
+        List<ExpenseExportRow> rows;
+        try (Stream<ExpenseExportRow> stream = expenseRepo.streamExportRows(user)) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).hasSize(30);
+        assertThat(rows).extracting(ExpenseExportRow::date).isSorted();
+        assertThat(rows).extracting(ExpenseExportRow::category).containsOnly("Food", "Travel");
+        assertThat(rows.get(0).id()).isLessThan(rows.get(1).id());
+    }
+
+    // Reference implementations: the in-memory stream logic ExpenseService used before SQL aggregation
+    private BigDecimal streamTotal(List<Expense> all, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        return all.stream()
+                .filter(e -> categoryId == null || e.getCategory().getId().equals(categoryId))
+                .filter(e -> startDate == null || !e.getDate().isBefore(startDate))
+                .filter(e -> endDate == null || !e.getDate().isAfter(endDate))
+                .map(Expense::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Map<String, BigDecimal> streamByKey(List<Expense> all, Function<Expense, String> key) {
+        return all.stream().collect(Collectors.groupingBy(key,
+                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().setScale(2)));
+    }
+
+    private <T> Map<String, BigDecimal> toMap(List<T> rows, Function<T, String> key, Function<T, BigDecimal> total) {
+        return rows.stream().collect(Collectors.toMap(key, r -> total.apply(r).setScale(2)));
+    }
+
+    private Expense expense(User owner, Category category, LocalDate date, long amount) {
+        return Expense.builder()
+                .description("Expense " + amount)
+                .amount(BigDecimal.valueOf(amount))
+                .date(date)
+                .category(category)
+                .user(owner)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.nvd.expensetracker.repository;
+
+import com.nvd.expensetracker.dto.MonthlyStats;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseRollupRepositoryTest {
+
+    private static final LocalDate JULY = LocalDate.of(2025, 7, 1);
+
+    @Autowired
+    private ExpenseRollupRepository rollupRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Test
+    void applyDelta_shouldCreateTheCellThenAccumulateIntoIt() {
+        Long userId = userRepo.save(User.builder().email("a@test.com").password("x").role(Role.USER).build()).getId();
+        Long categoryId = categoryRepo.save(Category.builder().name("Food").build()).getId();
+
+        rollupRepo.applyDelta(userId, JULY, categoryId, new BigDecimal("10.50"), 1);
+        rollupRepo.applyDelta(userId, JULY, categoryId, new BigDecimal("4.25"), 1);
+        rollupRepo.applyDelta(userId, JULY, categoryId, new BigDecimal("-10.50"), -1);
+
+        List<ExpenseRollup> cells = rollupRepo.findByUserId(userId);
+        assertThat(cells).singleElement().satisfies(cell -> {
+            assertThat(cell.getTotal()).isEqualByComparingTo("4.25");
+            assertThat(cell.getCount()).isEqualTo(1);
+        });
+        assertThat(rollupRepo.monthlyStats(userId))
+                .extracting(MonthlyStats::getMonth)
+                .containsExactly("2025-07");
+    }
+}
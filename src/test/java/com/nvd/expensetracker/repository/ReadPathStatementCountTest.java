@@ -0,0 +1,121 @@
+package com.nvd.expensetracker.repository;
+
+import com.nvd.expensetracker.dto.BudgetResponse;
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import com.nvd.expensetracker.dto.ExpenseResponse;
+import com.nvd.expensetracker.model.Budget;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List read paths must issue a fixed number of statements however many rows and
+ * distinct categories they return.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReadPathStatementCountTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepo;
+
+    @Autowired
+    private BudgetRepository budgetRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(User.builder().email("a@test.com").password("x").role(Role.USER).build());
+        for (int i = 0; i < 40; i++) {
+            Category category = categoryRepo.save(Category.builder().name("Category " + i).build());
+            expenseRepo.save(Expense.builder()
+                    .description("Expense " + i)
+                    .amount(BigDecimal.valueOf(100 + i))
+                    .date(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .category(category)
+                    .user(user)
+                    .build());
+            budgetRepo.save(Budget.builder().amount(BigDecimal.TEN).category(category).user(user).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void expensePage_shouldUseOneStatementForAnyPageSize() {
+        for (int size : new int[] {1, 10, 40}) {
+            statistics.clear();
+
+            List<ExpenseResponse> page = expenseRepo.findPage(user, null, null, null, null, null, Limit.of(size));
+
+            assertThat(page).hasSize(size).allSatisfy(e -> assertThat(e.getCategoryName()).startsWith("Category"));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+    }
+
+    @Test
+    void budgets_shouldUseOneStatement() {
+        statistics.clear();
+
+        List<BudgetResponse> budgets = budgetRepo.findViewsByUser(user);
+
+        assertThat(budgets).hasSize(40).allSatisfy(b -> assertThat(b.getCategoryName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetEntities_shouldFetchCategoriesInTheSameStatement() {
+        statistics.clear();
+
+        List<Budget> budgets = budgetRepo.findByUser(user);
+        budgets.forEach(b -> b.getCategory().getName());
+
+        assertThat(budgets).hasSize(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exportRows_shouldUseOneStatement() {
+        statistics.clear();
+
+        List<ExpenseExportRow> rows;
+        try (Stream<ExpenseExportRow> stream = expenseRepo.streamExportRows(user)) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).hasSize(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
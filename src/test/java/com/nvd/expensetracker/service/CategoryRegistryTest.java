@@ -0,0 +1,72 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryTest {
+
+    @Mock
+    private CategoryRepository categoryRepo;
+
+    @InjectMocks
+    private CategoryRegistry registry;
+
+    @Test
+    void lookups_shouldLoadTheCategoriesOnce() {
+        when(categoryRepo.findAll(any(Sort.class))).thenReturn(List.of(category(1L, "Food"), category(5L, "Travel")));
+
+        assertThat(registry.find(5L)).get().extracting(Category::getName).isEqualTo("Travel");
+        assertThat(registry.findAll(List.of(1L, 5L))).containsOnlyKeys(1L, 5L);
+        assertThat(registry.list()).extracting("name").containsExactly("Food", "Travel");
+
+        verify(categoryRepo, times(1)).findAll(any(Sort.class));
+        verify(categoryRepo, never()).findById(any());
+    }
+
+    @Test
+    void invalidate_shouldReloadOnNextUse() {
+        when(categoryRepo.findAll(any(Sort.class)))
+                .thenReturn(List.of(category(1L, "Food")))
+                .thenReturn(List.of(category(1L, "Groceries")));
+
+        assertThat(registry.list()).extracting("name").containsExactly("Food");
+        registry.invalidate();
+
+        assertThat(registry.list()).extracting("name").containsExactly("Groceries");
+    }
+
+    @Test
+    void find_shouldFallBackToTheDatabaseForIdsCreatedElsewhere() {
+        when(categoryRepo.findAll(any(Sort.class)))
+                .thenReturn(List.of(category(1L, "Food")))
+                .thenReturn(List.of(category(1L, "Food"), category(2L, "Rent")));
+        when(categoryRepo.findById(2L)).thenReturn(Optional.of(category(2L, "Rent")));
+        when(categoryRepo.findById(3L)).thenReturn(Optional.empty());
+
+        assertThat(registry.find(2L)).isPresent();
+        assertThat(registry.find(3L)).isEmpty();
+
+        assertThat(registry.list()).extracting("name").containsExactly("Food", "Rent");
+    }
+
+    private static Category category(Long id, String name) {
+        return Category.builder().id(id).name(name).build();
+    }
+}
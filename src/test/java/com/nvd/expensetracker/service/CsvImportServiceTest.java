@@ -0,0 +1,165 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ImportReport;
+import com.nvd.expensetracker.model.Category;
+import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.CategoryRepository;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CsvImportService.class, CsvExportService.class})
+@TestPropertySource(properties = "expense.import.chunk-size=3")
+class CsvImportServiceTest {
+
+    @Autowired
+    private CsvImportService importService;
+
+    @Autowired
+    private CsvExportService exportService;
+
+    @Autowired
+    private ExpenseRepository expenseRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @MockBean
+    private ExpenseRollupService rollupService;
+
+    private User source;
+    private User target;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        source = userRepo.save(User.builder().email("a@test.com").password("x").role(Role.USER).build());
+        target = userRepo.save(User.builder().email("b@test.com").password("x").role(Role.USER).build());
+        food = categoryRepo.save(Category.builder().name("Food").build());
+        categoryRepo.save(Category.builder().name("Travel, abroad").build());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_shouldRoundTripExportedFile() throws Exception {
+        Category travel = categoryRepo.findFirstByNameOrderByIdAsc("Travel, abroad").orElseThrow();
+        for (int i = 0; i < 7; i++) {
+            expenseRepo.save(Expense.builder()
+                    .description(i == 0 ? "Dinner, \"the\" place\nsecond line" : "Expense " + i)
+                    .amount(new BigDecimal("10.25").add(BigDecimal.valueOf(i)))
+                    .date(LocalDate.of(2025, 1 + i % 2, 10 + i))
+                    .category(i % 3 == 0 ? travel : food)
+                    .user(source)
+                    .build());
+        }
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        exportService.writeExpensesToCsv(source, exported);
+
+        ImportReport report = importService.importCsv(target, new ByteArrayInputStream(exported.toByteArray()));
+
+        assertThat(report.getRowsRead()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(7);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(snapshot(target)).isEqualTo(snapshot(source));
+
+        ArgumentCaptor<Collection<ExpenseRollup>> cells = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupService).addAll(cells.capture());
+        assertThat(cells.getValue()).hasSize(4)
+                .allSatisfy(cell -> assertThat(cell.getUserId()).isEqualTo(target.getId()));
+        assertThat(cells.getValue().stream().mapToLong(ExpenseRollup::getCount).sum()).isEqualTo(7);
+    }
+
+    @Test
+    void importCsv_shouldSkipAndReportInvalidRows() throws Exception {
+        String csv = "ID,Amount,Description,Date,Category\n" +
+                "1,12.50,Lunch,2025-02-01,Food\n" +
+                "2,abc,Bad amount,2025-02-01,Food\n" +
+                "3,-1,Negative,2025-02-01,Food\n" +
+                "4,5.00,,2025-02-01,Food\n" +
+                "5,5.00,Bad date,01/02/2025,Food\n" +
+                "6,5.00,Unknown,2025-02-01,Rent\n" +
+                "7,5.00,Too few\n" +
+                "\n" +
+                "8,7.5,Coffee,2025-02-02,Food\n";
+
+        ImportReport report = importService.importCsv(target,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getRowsRead()).isEqualTo(8);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(6);
+        assertThat(report.getErrors()).extracting(e -> e.getLine()).containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(report.getErrors().get(4).getMessage()).isEqualTo("Unknown category: Rent");
+        assertThat(expenseRepo.findByUser(target)).extracting(Expense::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("12.50"), new BigDecimal("7.50"));
+    }
+
+    @Test
+    void importCsv_shouldRejectAmountsBeyondTheColumnWithoutExpandingThem() throws Exception {
+        String csv = "1,1E+999999999,Huge,2025-02-01,Food\n" +
+                "2,1" + "0".repeat(36) + ",Too many digits,2025-02-01,Food\n" +
+                "3," + "9".repeat(36) + ".99,Largest,2025-02-01,Food\n";
+
+        ImportReport report = importService.importCsv(target,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(e -> e.getMessage())
+                .containsOnly("Amount must have at most 36 integer digits");
+    }
+
+    @Test
+    void importCsv_shouldStopLookingUpUnknownCategoriesAfterTheCap() throws Exception {
+        StringBuilder csv = new StringBuilder("998,2.00,Known,2025-02-01,Food\n");
+        for (int i = 0; i < CsvImportService.MAX_UNKNOWN_CATEGORIES + 5; i++) {
+            csv.append(i).append(",1.00,Row,2025-02-01,Missing ").append(i).append('\n');
+        }
+        // Already resolved before the cap was reached
+        csv.append("999,2.00,Known,2025-02-01,Food\n");
+
+        ImportReport report = importService.importCsv(target,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getRejected()).isEqualTo(CsvImportService.MAX_UNKNOWN_CATEGORIES + 5);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(e -> e.getMessage()).allMatch(m -> m.startsWith("Unknown category: Missing "));
+    }
+
+    private List<String> snapshot(User user) {
+        return expenseRepo.findByUser(user).stream()
+                .sorted(Comparator.comparing(Expense::getDate).thenComparing(Expense::getDescription))
+                .map(e -> e.getAmount().setScale(2) + "|" + e.getDescription() + "|" + e.getDate() + "|" + e.getCategory().getId())
+                .toList();
+    }
+}
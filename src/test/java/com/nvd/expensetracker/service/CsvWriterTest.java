@@ -0,0 +1,45 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void field_shouldQuoteOnlyWhenRequiredAndDoubleEmbeddedQuotes() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, 8);
+
+        csv.row("plain", "a,b", "say \"hi\"", "two\r\nlines", null, "");
+        csv.flush();
+
+        assertThat(out.toString())
+                .isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\",,\r\n");
+    }
+
+    @Test
+    void writeRow_shouldFormatNumbersAndDatesLikeTheOldExport() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        CsvExportService.writeRow(csv, new ExpenseExportRow(
+                42L, new BigDecimal("1234.5"), "Lunch, team", LocalDate.of(2025, 3, 7), "Food"));
+        CsvExportService.writeRow(csv, new ExpenseExportRow(
+                -7L, new BigDecimal("-0.055"), null, LocalDate.of(987, 12, 31), null));
+        CsvExportService.writeRow(csv, new ExpenseExportRow(
+                1L, new BigDecimal("123456789012345678901.999"), "x", LocalDate.of(2025, 1, 1), "y"));
+        csv.flush();
+
+        assertThat(out.toString()).isEqualTo(
+                "42,1234.50,\"Lunch, team\",2025-03-07,Food\r\n" +
+                "-7,-0.06,,0987-12-31,\r\n" +
+                "1,123456789012345678902.00,x,2025-01-01,y\r\n");
+    }
+}
@@ -0,0 +1,78 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateRangeSumIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 7, 15);
+    private static final int MAX_DAYS = 36_600;
+
+    @Test
+    void sum_shouldMatchBruteForceForRandomRangesAndCategories() {
+        Random random = new Random(7);
+        List<DailyCategoryTotal> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            rows.add(new DailyCategoryTotal(
+                    TODAY.minusDays(random.nextInt(900)),
+                    (long) random.nextInt(4),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2)));
+        }
+        DateRangeSumIndex index = DateRangeSumIndex.build(rows, TODAY, MAX_DAYS);
+
+        for (int i = 0; i < 500; i++) {
+            LocalDate start = random.nextInt(10) == 0 ? null : TODAY.minusDays(random.nextInt(1_000));
+            LocalDate end = random.nextInt(10) == 0 ? null : TODAY.minusDays(random.nextInt(1_000));
+            Long categoryId = random.nextBoolean() ? null : (long) random.nextInt(5);
+
+            BigDecimal expected = rows.stream()
+                    .filter(r -> categoryId == null || r.categoryId().equals(categoryId))
+                    .filter(r -> start == null || !r.date().isBefore(start))
+                    .filter(r -> end == null || !r.date().isAfter(end))
+                    .map(DailyCategoryTotal::total)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            assertThat(index.sum(categoryId, start, end)).isEqualByComparingTo(expected);
+        }
+    }
+
+    @Test
+    void add_shouldApplyDeltasAndRejectOutOfRangeOrFractionalMinorUnits() {
+        DateRangeSumIndex index = DateRangeSumIndex.build(List.of(
+                new DailyCategoryTotal(TODAY, 1L, new BigDecimal("10.50"))), TODAY, MAX_DAYS);
+
+        assertThat(index.add(TODAY.minusDays(3), 2L, new BigDecimal("4.25"))).isTrue();
+        assertThat(index.add(TODAY, 1L, new BigDecimal("-10.50"))).isTrue();
+        assertThat(index.sum(null, null, null)).isEqualByComparingTo("4.25");
+        assertThat(index.sum(1L, null, null)).isEqualByComparingTo("0");
+
+        assertThat(index.add(TODAY.plusYears(5), 1L, BigDecimal.ONE)).isFalse();
+        assertThat(index.add(TODAY, 1L, new BigDecimal("0.001"))).isFalse();
+        assertThat(index.sum(null, LocalDate.MIN, LocalDate.MAX)).isEqualByComparingTo("4.25");
+    }
+
+    @Test
+    void build_shouldReturnNullWhenAmountHasSubMinorUnitPrecision() {
+        assertThat(DateRangeSumIndex.build(List.of(
+                new DailyCategoryTotal(TODAY, 1L, new BigDecimal("1.005"))), TODAY, MAX_DAYS)).isNull();
+    }
+
+    @Test
+    void build_shouldReturnNullWhenTheSpanExceedsMaxDays() {
+        List<DailyCategoryTotal> rows = List.of(
+                new DailyCategoryTotal(LocalDate.of(1, 1, 1), 1L, BigDecimal.ONE),
+                new DailyCategoryTotal(TODAY, 1L, BigDecimal.ONE));
+
+        assertThat(DateRangeSumIndex.build(rows, TODAY, MAX_DAYS)).isNull();
+        assertThat(DateRangeSumIndex.build(rows.subList(1, 2), TODAY.plusDays(99), 100)).isNotNull();
+        assertThat(DateRangeSumIndex.build(rows.subList(1, 2), TODAY.plusDays(100), 100)).isNull();
+    }
+}
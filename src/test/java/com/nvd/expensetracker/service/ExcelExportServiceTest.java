@@ -0,0 +1,59 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ExpenseExportRow;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExcelExportServiceTest {
+
+    private final ExcelExportService service = new ExcelExportService(null, 10, true);
+
+    @Test
+    void writeRows_shouldWriteHeaderAndAllRowsBeyondTheWindow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.writeRows(rows(250), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Expenses");
+            assertThat(sheet.getLastRowNum()).isEqualTo(250);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("ID");
+            assertThat(sheet.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(1);
+            assertThat(sheet.getRow(250).getCell(1).getNumericCellValue()).isEqualTo(250.5);
+            assertThat(sheet.getRow(250).getCell(3).getStringCellValue()).isEqualTo("2025-01-01");
+        }
+    }
+
+    @Test
+    void writeRows_shouldPropagateWriteFailures() {
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.writeRows(rows(50), disconnected))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Iterator<ExpenseExportRow> rows(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(i -> new ExpenseExportRow(i, BigDecimal.valueOf(i).add(new BigDecimal("0.5")),
+                        "Expense " + i, LocalDate.of(2025, 1, 1), "Food"))
+                .iterator();
+    }
+}
@@ -0,0 +1,80 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.DailyCategoryTotal;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseRangeIndexTest {
+
+    private static final int MAX_DAYS = 366;
+
+    @Mock
+    private ExpenseRepository expenseRepo;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sum_shouldIndexOnFirstUseAndAnswerFromMemoryAfterwards() {
+        ExpenseRangeIndex rangeIndex = rangeIndex();
+        when(expenseRepo.dailyTotalsByUser(1L)).thenReturn(List.of(
+                new DailyCategoryTotal(LocalDate.now().minusDays(3), 5L, new BigDecimal("12.50"))));
+
+        assertThat(rangeIndex.sum(1L, null, null, null)).hasValueSatisfying(v -> assertThat(v).isEqualByComparingTo("12.50"));
+        assertThat(rangeIndex.sum(1L, 5L, null, null)).hasValueSatisfying(v -> assertThat(v).isEqualByComparingTo("12.50"));
+
+        verify(expenseRepo, times(1)).dailyTotalsByUser(1L);
+    }
+
+    @Test
+    void sum_shouldRememberUsersWhoseHistoryIsTooLongToIndex() {
+        ExpenseRangeIndex rangeIndex = rangeIndex();
+        when(expenseRepo.dailyTotalsByUser(1L)).thenReturn(List.of(
+                new DailyCategoryTotal(LocalDate.now().minusDays(MAX_DAYS + 10), 5L, BigDecimal.TEN)));
+
+        assertThat(rangeIndex.sum(1L, null, null, null)).isEmpty();
+        assertThat(rangeIndex.sum(1L, null, null, null)).isEmpty();
+
+        verify(expenseRepo, times(1)).dailyTotalsByUser(1L);
+    }
+
+    @Test
+    void sum_shouldNotLoadWhileAWriteInTheSameStripeIsCommitting() {
+        ExpenseRangeIndex rangeIndex = rangeIndex();
+        TransactionSynchronizationManager.initSynchronization();
+        rangeIndex.onExpenseChanged(ExpenseChangedEvent.bulk(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        assertThat(rangeIndex.sum(1L, null, null, null)).isEmpty();
+        verify(expenseRepo, never()).dailyTotalsByUser(1L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private ExpenseRangeIndex rangeIndex() {
+        return new ExpenseRangeIndex(expenseRepo, true, MAX_DAYS, 1024 * 1024, Duration.ofMinutes(30));
+    }
+}
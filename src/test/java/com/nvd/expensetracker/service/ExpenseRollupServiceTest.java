@@ -0,0 +1,113 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.model.ExpenseRollup;
+import com.nvd.expensetracker.repository.ExpenseRepository;
+import com.nvd.expensetracker.repository.ExpenseRollupRepository;
+import com.nvd.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseRollupServiceTest {
+
+    private static final LocalDate JULY = LocalDate.of(2025, 7, 1);
+    private static final LocalDate AUGUST = LocalDate.of(2025, 8, 1);
+
+    @Mock
+    private ExpenseRollupRepository rollupRepo;
+
+    @Mock
+    private ExpenseRepository expenseRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ExpenseRollupService rollupService;
+
+    @Test
+    void move_shouldAdjustSingleCellWhenMonthAndCategoryUnchanged() {
+        rollupService.move(1L,
+                LocalDate.of(2025, 7, 3), 5L, new BigDecimal("100"),
+                LocalDate.of(2025, 7, 20), 5L, new BigDecimal("150"));
+
+        verify(rollupRepo).applyDelta(1L, JULY, 5L, new BigDecimal("50"), 0);
+    }
+
+    @Test
+    void move_shouldShiftBetweenCellsWhenMonthChanges() {
+        rollupService.move(1L,
+                LocalDate.of(2025, 7, 31), 5L, new BigDecimal("100"),
+                LocalDate.of(2025, 8, 1), 5L, new BigDecimal("100"));
+
+        InOrder order = inOrder(rollupRepo);
+        order.verify(rollupRepo).lockUser(1L);
+        order.verify(rollupRepo).applyDelta(1L, JULY, 5L, new BigDecimal("-100"), -1);
+        order.verify(rollupRepo).applyDelta(1L, AUGUST, 5L, new BigDecimal("100"), 1);
+    }
+
+    @Test
+    void reconcile_shouldRepairDriftedMissingAndOrphanCells() {
+        ExpenseRollup drifted = rollup(JULY, 5L, "90.00", 2);
+        ExpenseRollup correct = rollup(JULY, 6L, "10.00", 1);
+        ExpenseRollup orphan = rollup(AUGUST, 6L, "40.00", 1);
+        when(rollupRepo.findByUserId(1L)).thenReturn(List.of(drifted, correct, orphan));
+        when(expenseRepo.rollupByUser(1L)).thenReturn(List.of(
+                rollup(JULY, 5L, "100.00", 3),
+                rollup(JULY, 6L, "10.0", 1),
+                rollup(AUGUST, 5L, "25.00", 1)));
+
+        int repaired = rollupService.reconcile(1L);
+
+        assertThat(repaired).isEqualTo(3);
+        InOrder order = inOrder(rollupRepo, expenseRepo);
+        order.verify(rollupRepo).lockUser(1L);
+        order.verify(rollupRepo).findByUserId(1L);
+        order.verify(expenseRepo).rollupByUser(1L);
+        assertThat(drifted.getTotal()).isEqualByComparingTo("100.00");
+        assertThat(drifted.getCount()).isEqualTo(3);
+        verify(rollupRepo).delete(orphan);
+        verify(rollupRepo, never()).delete(correct);
+        verify(rollupRepo, never()).applyDelta(anyLong(), any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void backfill_shouldBuildCellsOnlyForUsersWithoutAny() {
+        ExpenseRollup missing = rollup(JULY, 5L, "100.00", 3);
+        when(rollupRepo.findUserIdsWithoutRollups()).thenReturn(List.of(1L));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(expenseRepo.rollupByUser(1L)).thenReturn(List.of(missing));
+
+        rollupService.backfill();
+
+        verify(rollupRepo).lockUser(1L);
+        verify(rollupRepo).save(missing);
+        verify(userRepo, never()).findAllIds();
+    }
+
+    private ExpenseRollup rollup(LocalDate month, Long categoryId, String total, long count) {
+        return new ExpenseRollup(1L, month, categoryId, new BigDecimal(total), count);
+    }
+}
@@ -1,27 +1,48 @@
 package com.nvd.expensetracker.service;
 
 import com.nvd.expensetracker.dto.CategoryExpenseStats;
+import com.nvd.expensetracker.dto.CursorPage;
+import com.nvd.expensetracker.dto.ExpenseBatchItem;
+import com.nvd.expensetracker.dto.ExpenseCursor;
 import com.nvd.expensetracker.dto.ExpenseRequest;
+import com.nvd.expensetracker.dto.ExpenseResponse;
+import com.nvd.expensetracker.exception.AccessDeniedException;
+import com.nvd.expensetracker.exception.BadRequestException;
 import com.nvd.expensetracker.model.Category;
 import com.nvd.expensetracker.model.Expense;
+import com.nvd.expensetracker.model.ExpenseRollup;
 import com.nvd.expensetracker.model.User;
-import com.nvd.expensetracker.repository.CategoryRepository;
 import com.nvd.expensetracker.repository.ExpenseRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +52,19 @@ class ExpenseServiceTest {
     private ExpenseRepository expenseRepo;
 
     @Mock
-    private CategoryRepository categoryRepo;
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private ExpenseRollupService rollupService;
+
+    @Spy
+    private ExpenseStatsCache statsCache = new ExpenseStatsCache(100, Duration.ofMinutes(5));
+
+    @Mock
+    private ExpenseRangeIndex rangeIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ExpenseService expenseService;
@@ -59,8 +92,8 @@ class ExpenseServiceTest {
 
     @Test
     void createExpense_shouldSaveAndReturnExpense() {
-        when(categoryRepo.findById(category.getId())).thenReturn(Optional.of(category));
-        when(expenseRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryRegistry.find(category.getId())).thenReturn(Optional.of(category));
+        when(expenseRepo.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         Expense result = expenseService.createExpense(request, user);
 
@@ -68,35 +101,135 @@ class ExpenseServiceTest {
         assertThat(result.getDescription()).isEqualTo(request.getDescription());
         assertThat(result.getCategory()).isEqualTo(category);
         assertThat(result.getUser()).isEqualTo(user);
+        verify(rollupService).add(result);
+        verify(eventPublisher).publishEvent(ExpenseChangedEvent.created(result));
     }
 
     @Test
-    void createExpense_shouldThrowException_whenCategoryNotFound() {
-        when(categoryRepo.findById(category.getId())).thenReturn(Optional.empty());
-
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> expenseService.createExpense(request, user));
-
-        assertThat(exception.getMessage()).isEqualTo("Category not found");
+    void updateExpense_shouldMoveRollupBeforeApplyingChanges() {
+        Expense existing = Expense.builder()
+                .id(7L)
+                .amount(new BigDecimal("20000"))
+                .description("Coffee")
+                .date(LocalDate.of(2025, 6, 30))
+                .category(category)
+                .user(user)
+                .build();
+        when(expenseRepo.findById(7L)).thenReturn(Optional.of(existing));
+        when(categoryRegistry.find(category.getId())).thenReturn(Optional.of(category));
+        when(expenseRepo.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Expense result = expenseService.updateExpense(7L, request, user);
+
+        InOrder order = inOrder(rollupService, expenseRepo);
+        order.verify(rollupService).lockUser(user.getId());
+        order.verify(expenseRepo).findById(7L);
+        order.verify(rollupService).move(user.getId(),
+                LocalDate.of(2025, 6, 30), category.getId(), new BigDecimal("20000"),
+                request.getDate(), category.getId(), request.getAmount());
+        assertThat(result.getAmount()).isEqualTo(request.getAmount());
+        assertThat(result.getDate()).isEqualTo(request.getDate());
     }
 
     @Test
-    void getFilteredTotal_shouldReturnCorrectSum() {
-        Expense expense1 = Expense.builder()
-                .amount(new BigDecimal("100000"))
+    @SuppressWarnings("unchecked")
+    void saveExpenses_shouldCreateAndUpdateWithOneRollupUpsertPerCell() {
+        Expense existing = Expense.builder()
+                .id(7L)
+                .amount(new BigDecimal("20000"))
+                .description("Coffee")
                 .date(LocalDate.of(2025, 7, 1))
                 .category(category)
                 .user(user)
                 .build();
+        when(categoryRegistry.findAll(List.of(category.getId()))).thenReturn(Map.of(category.getId(), category));
+        when(expenseRepo.findAllById(List.of(7L))).thenReturn(List.of(existing));
+        when(expenseRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Expense expense2 = Expense.builder()
-                .amount(new BigDecimal("200000"))
-                .date(LocalDate.of(2025, 7, 5))
-                .category(category)
-                .user(user)
-                .build();
+        ExpenseBatchItem update = batchItem(7L, "35000", LocalDate.of(2025, 7, 2));
+        ExpenseBatchItem create = batchItem(null, "10000", LocalDate.of(2025, 7, 3));
+        ExpenseBatchItem createNextMonth = batchItem(null, "5000", LocalDate.of(2025, 8, 1));
+
+        List<Expense> saved = expenseService.saveExpenses(List.of(update, create, createNextMonth), user);
+
+        assertThat(saved).hasSize(3);
+        assertThat(saved.get(0)).isSameAs(existing);
+        assertThat(existing.getAmount()).isEqualByComparingTo("35000");
+        verify(expenseRepo, times(2)).save(any());
+
+        ArgumentCaptor<Collection<ExpenseRollup>> cells = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupService).addAll(cells.capture());
+        assertThat(cells.getValue()).extracting(c -> c.getMonth() + " " + c.getTotal().stripTrailingZeros().toPlainString() + " " + c.getCount())
+                .containsExactlyInAnyOrder("2025-07-01 25000 1", "2025-08-01 5000 1");
+        verify(eventPublisher, times(3)).publishEvent(any(ExpenseChangedEvent.class));
+    }
+
+    @Test
+    void saveExpenses_shouldRejectOtherUsersExpense() {
+        User other = new User();
+        other.setId(2L);
+        Expense existing = Expense.builder().id(7L).user(other).category(category).build();
+        when(categoryRegistry.findAll(List.of(category.getId()))).thenReturn(Map.of(category.getId(), category));
+        when(expenseRepo.findAllById(List.of(7L))).thenReturn(List.of(existing));
+
+        assertThrows(AccessDeniedException.class, () ->
+                expenseService.saveExpenses(List.of(batchItem(7L, "1", LocalDate.of(2025, 7, 1))), user));
+        verify(rollupService, never()).addAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
 
-        when(expenseRepo.findByUser(user)).thenReturn(List.of(expense1, expense2));
+    private ExpenseBatchItem batchItem(Long id, String amount, LocalDate date) {
+        ExpenseBatchItem item = new ExpenseBatchItem();
+        item.setId(id);
+        item.setDescription("Item");
+        item.setAmount(new BigDecimal(amount));
+        item.setDate(date);
+        item.setCategoryId(category.getId());
+        return item;
+    }
+
+    @Test
+    void deleteExpense_shouldLockRollupsBeforeLoadingTheExpense() {
+        Expense existing = Expense.builder().id(7L).amount(new BigDecimal("20000"))
+                .date(LocalDate.of(2025, 7, 1)).user(user).category(category).build();
+        when(expenseRepo.findById(7L)).thenReturn(Optional.of(existing));
+
+        expenseService.deleteExpense(7L, user);
+
+        InOrder order = inOrder(rollupService, expenseRepo);
+        order.verify(rollupService).lockUser(user.getId());
+        order.verify(expenseRepo).findById(7L);
+        order.verify(expenseRepo).delete(existing);
+        order.verify(rollupService).remove(existing);
+    }
+
+    @Test
+    void deleteExpense_shouldRejectOtherUsersExpense() {
+        User other = new User();
+        other.setId(2L);
+        Expense existing = Expense.builder().id(7L).user(other).category(category).build();
+        when(expenseRepo.findById(7L)).thenReturn(Optional.of(existing));
+
+        assertThrows(AccessDeniedException.class, () -> expenseService.deleteExpense(7L, user));
+        verify(expenseRepo, never()).delete(any());
+        verify(rollupService, never()).remove(any());
+    }
+
+    @Test
+    void createExpense_shouldThrowException_whenCategoryNotFound() {
+        when(categoryRegistry.find(category.getId())).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> expenseService.createExpense(request, user));
+
+        assertThat(exception.getMessage()).isEqualTo("Category not found");
+    }
+
+    @Test
+    void getFilteredTotal_shouldReturnDatabaseSum() {
+        when(expenseRepo.sumByCategoryAndDate(user, category.getId(),
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 10)))
+                .thenReturn(new BigDecimal("300000"));
 
         BigDecimal total = expenseService.getFilteredTotal(
                 user,
@@ -109,40 +242,60 @@ class ExpenseServiceTest {
     }
 
     @Test
-    void filterExpenses_shouldReturnMatchingExpenses() {
-        Expense e1 = Expense.builder()
-                .amount(new BigDecimal("100000"))
-                .description("Mua sách")
-                .date(LocalDate.of(2025, 7, 6))
-                .category(category)
-                .user(user)
-                .build();
-
-        Expense e2 = Expense.builder()
-                .amount(new BigDecimal("50000"))
-                .description("Đi chợ")
-                .date(LocalDate.of(2025, 7, 7))
-                .category(category)
-                .user(user)
-                .build();
-
-        when(expenseRepo.findByUser(user)).thenReturn(List.of(e1, e2));
-
-        List<Expense> filtered = expenseService.filterExpenses(
+    void filterExpenses_shouldReturnPageWithNextCursor() {
+        ExpenseResponse e1 = new ExpenseResponse(2L, "Mua sách", new BigDecimal("100000"),
+                LocalDate.of(2025, 7, 6), category.getName());
+        ExpenseResponse e2 = new ExpenseResponse(1L, "Đi chợ", new BigDecimal("50000"),
+                LocalDate.of(2025, 7, 5), category.getName());
+
+        when(expenseRepo.findPage(eq(user), eq(category.getId()),
+                eq(LocalDate.of(2025, 7, 5)), eq(LocalDate.of(2025, 7, 6)),
+                isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(e1, e2));
+
+        CursorPage<ExpenseResponse> page = expenseService.filterExpenses(
                 user, category.getId(),
                 LocalDate.of(2025, 7, 5),
-                LocalDate.of(2025, 7, 6)
+                LocalDate.of(2025, 7, 6),
+                null, 1
         );
 
-        assertThat(filtered).containsExactly(e1);
+        assertThat(page.getItems()).extracting(ExpenseResponse::getId).containsExactly(2L);
+        assertThat(page.getItems().get(0).getCategoryName()).isEqualTo("Food");
+        assertThat(ExpenseCursor.decode(page.getNextCursor()))
+                .isEqualTo(new ExpenseCursor(LocalDate.of(2025, 7, 6), 2L));
+    }
+
+    @Test
+    void filterExpenses_shouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class,
+                () -> expenseService.filterExpenses(user, null, null, null, "not a cursor", 20));
     }
 
     @Test
-    void getStatsByCategory_shouldReturnCorrectStats() {
-        Expense e1 = Expense.builder().amount(new BigDecimal("100000")).category(category).user(user).build();
-        Expense e2 = Expense.builder().amount(new BigDecimal("200000")).category(category).user(user).build();
+    void getFilteredTotal_shouldServeRepeatedCallsFromCacheUntilUserChanges() {
+        LocalDate from = LocalDate.of(2025, 7, 1);
+        when(expenseRepo.sumByCategoryAndDate(user, null, from, null))
+                .thenReturn(new BigDecimal("10"), new BigDecimal("20"));
+
+        assertThat(expenseService.getFilteredTotal(user, null, from, null)).isEqualTo(new BigDecimal("10"));
+        assertThat(expenseService.getFilteredTotal(user, null, from, null)).isEqualTo(new BigDecimal("10"));
+
+        statsCache.onExpenseChanged(ExpenseChangedEvent.bulk(99L));
+        assertThat(expenseService.getFilteredTotal(user, null, from, null)).isEqualTo(new BigDecimal("10"));
 
-        when(expenseRepo.findByUser(user)).thenReturn(List.of(e1, e2));
+        statsCache.onExpenseChanged(ExpenseChangedEvent.bulk(user.getId()));
+        assertThat(expenseService.getFilteredTotal(user, null, from, null)).isEqualTo(new BigDecimal("20"));
+
+        verify(expenseRepo, times(2)).sumByCategoryAndDate(user, null, from, null);
+        assertThat(statsCache.stats().hitCount()).isEqualTo(2);
+        assertThat(statsCache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getStatsByCategory_shouldReturnDatabaseStats() {
+        when(rollupService.getStatsByCategory(user.getId()))
+                .thenReturn(List.of(new CategoryExpenseStats("Food", new BigDecimal("300000"))));
 
         List<CategoryExpenseStats> stats = expenseService.getStatsByCategory(user);
 
@@ -151,4 +304,4 @@ class ExpenseServiceTest {
         assertThat(stats.get(0).getTotal()).isEqualTo(new BigDecimal("300000"));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.nvd.expensetracker.service;
+
+import com.nvd.expensetracker.dto.ExportFormat;
+import com.nvd.expensetracker.exception.ServiceUnavailableException;
+import com.nvd.expensetracker.exception.TooManyRequestsException;
+import com.nvd.expensetracker.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ExportJobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final CsvExportService csvExportService = mock(CsvExportService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void submit_shouldWriteFileAndMarkJobDone() throws Exception {
+        service = newService(2, 4, 2);
+        release.countDown();
+
+        ExportJob job = service.submit(user(1L), ExportFormat.CSV);
+        awaitFinished(job);
+
+        assertThat(job.getStatus()).isEqualTo(ExportJob.Status.DONE);
+        assertThat(job.getFile()).hasFileName(job.getId() + ".csv");
+        assertThat(Files.readString(job.getFile())).isEqualTo("ID,Amount\r\n");
+        assertThat(job.getSizeBytes()).isEqualTo(11);
+        assertThat(service.getCompletedJob(job.getId(), 1L)).isSameAs(job);
+    }
+
+    @Test
+    void submit_shouldLimitUnfinishedJobsPerUserAndRejectWhenQueueIsFull() throws Exception {
+        service = newService(1, 1, 2);
+
+        ExportJob running = service.submit(user(1L), ExportFormat.CSV);
+        service.submit(user(1L), ExportFormat.CSV);
+        assertThatThrownBy(() -> service.submit(user(1L), ExportFormat.CSV))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> service.submit(user(2L), ExportFormat.CSV))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        awaitFinished(running);
+        assertThat(service.getJob(running.getId(), 1L).getStatus()).isEqualTo(ExportJob.Status.DONE);
+    }
+
+    @Test
+    void removeFinishedBefore_shouldDeleteExpiredFiles() throws Exception {
+        service = newService(1, 1, 1);
+        release.countDown();
+        ExportJob job = service.submit(user(1L), ExportFormat.CSV);
+        awaitFinished(job);
+
+        assertThat(service.removeFinishedBefore(job.getFinishedAt())).isZero();
+        assertThat(service.removeFinishedBefore(Instant.now().plusSeconds(1))).isEqualTo(1);
+
+        assertThat(job.getFile()).doesNotExist();
+        assertThatThrownBy(() -> service.getJob(job.getId(), 1L)).hasMessage("Export job not found");
+    }
+
+    @Test
+    void removeFinishedBefore_shouldKeepFilesWhileTheyAreDownloaded() throws Exception {
+        service = newService(1, 1, 1);
+        release.countDown();
+        ExportJob job = service.submit(user(1L), ExportFormat.CSV);
+        awaitFinished(job);
+
+        ExportJob downloading = service.startDownload(job.getId(), 1L);
+        assertThat(service.removeFinishedBefore(Instant.now().plusSeconds(1))).isZero();
+        assertThat(job.getFile()).exists();
+
+        service.finishDownload(downloading);
+        assertThat(service.removeFinishedBefore(Instant.now().plusSeconds(1))).isEqualTo(1);
+        assertThat(job.getFile()).doesNotExist();
+        assertThat(job.downloadStarted()).isFalse();
+    }
+
+    @Test
+    void prepareDirectory_shouldOnlyDeleteJobFiles() throws Exception {
+        Path leftover = Files.writeString(directory.resolve(UUID.randomUUID() + ".csv"), "x");
+        Path partial = Files.writeString(directory.resolve(UUID.randomUUID() + ".part"), "x");
+        Path unrelated = Files.writeString(directory.resolve("notes.csv"), "x");
+
+        service = newService(1, 1, 1);
+
+        assertThat(leftover).doesNotExist();
+        assertThat(partial).doesNotExist();
+        assertThat(unrelated).exists();
+    }
+
+    private ExportJobService newService(int poolSize, int queueCapacity, int maxActivePerUser) throws IOException {
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            OutputStream out = invocation.getArgument(1);
+            out.write("ID,Amount\r\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(csvExportService).writeExpensesToCsv(any(), any());
+
+        ExportJobService created = new ExportJobService(csvExportService, null, directory,
+                poolSize, queueCapacity, maxActivePerUser, Duration.ofHours(1), false);
+        created.prepareDirectory();
+        return created;
+    }
+
+    private void awaitFinished(ExportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).isTrue();
+    }
+
+    private User user(Long id) {
+        return User.builder().id(id).email(id + "@test.com").build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.nvd.expensetracker.support;
+
+import com.nvd.expensetracker.metrics.RequestQueryStats;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-count guard for controller tests, e.g.
+ * {@code assertQueryCount(mockMvc, get("/api/expenses").header(AUTHORIZATION, bearer), 1)}.
+ * The request must succeed and execute at most the given number of JDBC statements;
+ * on failure the message lists every statement it ran.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static MvcResult assertQueryCount(MockMvc mockMvc, RequestBuilder request, int maxStatements)
+            throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        MockHttpServletRequest sent = result.getRequest();
+        String route = sent.getMethod() + " " + sent.getRequestURI();
+
+        assertThat(result.getResponse().getStatus()).as(route + " status").isBetween(200, 299);
+        RequestQueryStats stats = (RequestQueryStats) sent.getAttribute(RequestQueryStats.ATTRIBUTE);
+        assertThat(stats).as("statement tracking for " + route).isNotNull();
+        assertThat(stats.count())
+                .as("%s ran %d statements:%n  %s", route, stats.count(), String.join("\n  ", stats.statements()))
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.nvd.expensetracker.tracing;
+
+import com.jayway.jsonpath.JsonPath;
+import com.nvd.expensetracker.config.JwtService;
+import com.nvd.expensetracker.model.Role;
+import com.nvd.expensetracker.model.User;
+import com.nvd.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Test
+    void slowestTraces_shouldShowTheCriticalPathAsOtlpJson() throws Exception {
+        User user = userRepo.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com").password("x").role(Role.USER).build());
+        User admin = userRepo.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com").password("x").role(Role.ADMIN).build());
+        mockMvc.perform(get("/api/expenses").header(AUTHORIZATION, "Bearer " + jwtService.generateToken(user)))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/admin/traces/slowest").param("limit", "50")
+                        .header(AUTHORIZATION, "Bearer " + jwtService.generateToken(admin)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> traceIds = JsonPath.read(body,
+                "$.resourceSpans[0].scopeSpans[0].spans[?(@.name == 'GET /api/expenses')].traceId");
+        assertThat(traceIds).isNotEmpty();
+        List<String> names = JsonPath.read(body,
+                "$.resourceSpans[0].scopeSpans[0].spans[?(@.traceId == '" + traceIds.get(0) + "')].name");
+        assertThat(names).contains(
+                "security.filterChain",
+                "jwt.authenticate",
+                "controller ExpenseController.getAllExpenses",
+                "repository ExpenseRepository.findPage");
+    }
+
+    @Test
+    void slowestTraces_shouldRejectLimitsOutOfRange() throws Exception {
+        User admin = userRepo.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com").password("x").role(Role.ADMIN).build());
+        String bearer = "Bearer " + jwtService.generateToken(admin);
+
+        mockMvc.perform(get("/api/admin/traces/slowest").param("limit", "0").header(AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/traces/slowest").param("limit", "-5").header(AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/traces/slowest").param("limit", "1001").header(AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+    }
+}
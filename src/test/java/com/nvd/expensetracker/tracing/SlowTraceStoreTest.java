@@ -0,0 +1,73 @@
+package com.nvd.expensetracker.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowTraceStoreTest {
+
+    private long second = 1_000;
+
+    private final SlowTraceStore store = new SlowTraceStore(properties()) {
+        @Override
+        long currentSecond() {
+            return second;
+        }
+    };
+
+    @Test
+    void offer_shouldKeepOnlyTheSlowestTracesPerSecond() throws InterruptedException {
+        for (int millis : new int[] {3, 1, 5, 2}) {
+            store.offer(trace(millis), "GET", "/api/expenses", 200, null);
+        }
+
+        assertThat(store.slowest(10))
+                .extracting(TraceRecord::durationNanos)
+                .hasSize(2)
+                .allSatisfy(nanos -> assertThat(nanos).isGreaterThanOrEqualTo(3_000_000));
+    }
+
+    @Test
+    void slowest_shouldForgetTracesOlderThanTheWindow() throws InterruptedException {
+        store.offer(trace(1), "GET", "/api/expenses", 200, null);
+        second += 2;
+        store.offer(trace(1), "GET", "/api/budgets", 200, null);
+
+        assertThat(store.slowest(10)).extracting(TraceRecord::route).containsExactly("/api/budgets");
+    }
+
+    @Test
+    void spans_shouldNestAndCountOverflowAsDropped() {
+        RequestTrace trace = RequestTrace.begin(3);
+        int root = RequestTrace.start("http.request");
+        int controller = RequestTrace.start("controller");
+        RequestTrace.finish(RequestTrace.start("repository"));
+        assertThat(RequestTrace.start("overflow")).isEqualTo(-1);
+        RequestTrace.finish(controller);
+        RequestTrace.finish(root);
+        RequestTrace.end();
+
+        TraceRecord record = trace.snapshot("GET", "/api/expenses", 200, "req-1");
+        assertThat(record.spans()).extracting(TraceRecord.Span::parent).containsExactly(-1, 0, 1);
+        assertThat(record.droppedSpans()).isEqualTo(1);
+        assertThat(RequestTrace.start("after end")).isEqualTo(-1);
+    }
+
+    private static RequestTrace trace(int millis) throws InterruptedException {
+        RequestTrace trace = RequestTrace.begin(8);
+        int root = RequestTrace.start("http.request");
+        Thread.sleep(millis);
+        RequestTrace.finish(root);
+        RequestTrace.end();
+        return trace;
+    }
+
+    private static TracingProperties properties() {
+        TracingProperties properties = new TracingProperties();
+        properties.setSlowest(2);
+        properties.setWindow(Duration.ofSeconds(2));
+        return properties;
+    }
+}